@@ -0,0 +1,129 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.QuickTableApplication;
+import com.quicktable.backend.dto.table.AvailableTablesRequest;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.entity.ReservationStatus;
+import com.quicktable.backend.entity.RestaurantTable;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.repository.ReservationRepository;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.repository.UserRepository;
+import com.quicktable.backend.service.TableService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TableService#getAvailableTables} against an embedded H2 database seeded with
+ * {@code tables} tables and a month of evening reservations (four per table per day).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final int DAYS = 30;
+    private static final LocalTime[] SEATINGS = {
+            LocalTime.of(17, 30), LocalTime.of(19, 0), LocalTime.of(20, 30), LocalTime.of(22, 0)
+    };
+
+    @Param({"40", "200"})
+    private int tables;
+
+    private ConfigurableApplicationContext context;
+    private TableService tableService;
+    private AvailableTablesRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuickTableApplication.class)
+                .profiles("dev")
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:availability-" + tables + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.quicktable.backend=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        seed(firstDay);
+
+        tableService = context.getBean(TableService.class);
+        request = new AvailableTablesRequest(firstDay.plusDays(DAYS / 2), LocalTime.of(19, 0), 4);
+    }
+
+    private void seed(LocalDate firstDay) {
+        RestaurantTableRepository tableRepository = context.getBean(RestaurantTableRepository.class);
+        ReservationRepository reservationRepository = context.getBean(ReservationRepository.class);
+        User customer = context.getBean(UserRepository.class).findByEmail("customer@example.com").orElseThrow();
+
+        List<RestaurantTable> seededTables = new ArrayList<>(tables);
+        for (int i = 1; i <= tables; i++) {
+            RestaurantTable table = Fixtures.table(i);
+            table.setId(null);
+            table.setTableNumber(1000 + i);
+            seededTables.add(table);
+        }
+        seededTables = tableRepository.saveAll(seededTables);
+
+        long code = 0;
+        for (int day = 0; day < DAYS; day++) {
+            List<Reservation> batch = new ArrayList<>(tables * SEATINGS.length);
+            for (RestaurantTable table : seededTables) {
+                for (LocalTime seating : SEATINGS) {
+                    // Leave roughly a third of seatings free so the query has something to return
+                    if ((table.getTableNumber() + day + seating.getHour()) % 3 == 0) {
+                        continue;
+                    }
+                    Reservation reservation = Fixtures.reservation(0, customer, table);
+                    reservation.setId(null);
+                    reservation.setReservationCode("BM" + (code++));
+                    reservation.setReservationDate(firstDay.plusDays(day));
+                    reservation.setReservationTime(seating);
+                    reservation.setStatus(day % 7 == 0 ? ReservationStatus.PENDING : ReservationStatus.CONFIRMED);
+                    batch.add(reservation);
+                }
+            }
+            reservationRepository.saveAll(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TableDTO> getAvailableTables() {
+        return tableService.getAvailableTables(request);
+    }
+}
@@ -0,0 +1,49 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.dto.reservation.ReservationDTO;
+import com.quicktable.backend.dto.user.UserDTO;
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.util.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private DtoMapper dtoMapper;
+    private User user;
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        dtoMapper = new DtoMapper();
+        user = Fixtures.customer(1);
+        reservation = Fixtures.reservation(1, user, Fixtures.table(7));
+    }
+
+    @Benchmark
+    public UserDTO toUserDTO() {
+        return dtoMapper.toUserDTO(user);
+    }
+
+    @Benchmark
+    public ReservationDTO toReservationDTO() {
+        return dtoMapper.toReservationDTO(reservation);
+    }
+}
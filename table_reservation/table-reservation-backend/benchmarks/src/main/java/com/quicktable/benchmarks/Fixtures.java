@@ -0,0 +1,81 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.entity.LoyaltyTier;
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.entity.ReservationStatus;
+import com.quicktable.backend.entity.RestaurantTable;
+import com.quicktable.backend.entity.Role;
+import com.quicktable.backend.entity.TableLocation;
+import com.quicktable.backend.entity.TableShape;
+import com.quicktable.backend.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Detached entities shaped like production rows, shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET =
+            "dGhpcyBpcyBhIHZlcnkgbG9uZyBzZWNyZXQga2V5IGZvciBqd3QgdG9rZW4gZ2VuZXJhdGlvbiBpbiBxdWlja3RhYmxlIGFwcGxpY2F0aW9u";
+
+    private Fixtures() {
+    }
+
+    static User customer(long id) {
+        return User.builder()
+                .id(id)
+                .firstName("Jane")
+                .lastName("Customer" + id)
+                .email("customer" + id + "@example.com")
+                .phone("555-0" + (100 + id % 900))
+                .password("{noop}secret")
+                .role(Role.USER)
+                .birthday(LocalDate.of(1990, 5, 17))
+                .dietaryPreferences("Vegetarian")
+                .favoriteTable("Window")
+                .loyaltyPoints(420)
+                .loyaltyTier(LoyaltyTier.SILVER)
+                .totalReservations(12)
+                .completedReservations(10)
+                .cancelledReservations(1)
+                .totalSpent(640.0)
+                .lastVisit(LocalDateTime.now().minusDays(9))
+                .createdAt(LocalDateTime.now().minusYears(1))
+                .build();
+    }
+
+    static RestaurantTable table(long id) {
+        return RestaurantTable.builder()
+                .id(id)
+                .tableNumber((int) id)
+                .capacity(2 + (int) (id % 4) * 2)
+                .location(TableLocation.values()[(int) (id % TableLocation.values().length)])
+                .shape(TableShape.values()[(int) (id % TableShape.values().length)])
+                .positionX(10.0 * id)
+                .positionY(20.0)
+                .createdAt(LocalDateTime.now().minusYears(1))
+                .build();
+    }
+
+    static Reservation reservation(long id, User user, RestaurantTable table) {
+        return Reservation.builder()
+                .id(id)
+                .reservationCode("QT" + (100000 + id))
+                .user(user)
+                .table(table)
+                .customerName(user.getFullName())
+                .customerEmail(user.getEmail())
+                .customerPhone(user.getPhone())
+                .reservationDate(LocalDate.now().plusDays(3))
+                .reservationTime(LocalTime.of(19, 30))
+                .numberOfGuests(4)
+                .specialRequests("Anniversary dinner")
+                .status(ReservationStatus.CONFIRMED)
+                .createdAt(LocalDateTime.now().minusDays(2))
+                .updatedAt(LocalDateTime.now().minusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.security.JwtAuthenticationFilter;
+import com.quicktable.backend.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full filter pass for an authenticated request. The user lookup is an in-memory stub,
+ * so the numbers cover token parsing and security context setup only. Each call clears the
+ * context afterwards, as the security filter chain does per request; a per-invocation
+ * teardown would cost more than the filter pass itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = JwtTokenProviderBenchmark.newTokenProvider();
+        User user = Fixtures.customer(1);
+        filter = new JwtAuthenticationFilter(tokenProvider, email -> user,
+                new QuickTableMetrics(new SimpleMeterRegistry()));
+        authorizationHeader = "Bearer " + tokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customer/profile");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tables");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
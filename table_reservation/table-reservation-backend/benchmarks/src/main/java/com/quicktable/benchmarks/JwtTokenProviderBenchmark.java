@@ -0,0 +1,60 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = newTokenProvider();
+        user = Fixtures.customer(1);
+        token = jwtTokenProvider.generateToken(user);
+    }
+
+    static JwtTokenProvider newTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", Fixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 604800000L);
+        return provider;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return jwtTokenProvider.getEmailFromToken(token);
+    }
+}
@@ -0,0 +1,49 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.mail.MailTemplates;
+import com.quicktable.backend.mail.MailType;
+import com.quicktable.backend.mail.RenderedMail;
+import com.quicktable.backend.mail.ReservationMailView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateBenchmark {
+
+    private MailTemplates templates;
+    private Reservation reservation;
+    private ReservationMailView view;
+
+    @Setup
+    public void setUp() {
+        templates = new MailTemplates();
+        reservation = Fixtures.reservation(1, Fixtures.customer(1), Fixtures.table(7));
+        view = ReservationMailView.from(reservation);
+    }
+
+    @Benchmark
+    public ReservationMailView captureView() {
+        return ReservationMailView.from(reservation);
+    }
+
+    @Benchmark
+    public RenderedMail renderConfirmation() {
+        return templates.render(MailType.CONFIRMATION, view);
+    }
+}
@@ -0,0 +1,49 @@
+package com.quicktable.benchmarks;
+
+import com.quicktable.backend.dto.common.PagedResponse;
+import com.quicktable.backend.dto.reservation.ReservationDTO;
+import com.quicktable.backend.util.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedResponseBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private List<ReservationDTO> content;
+
+    @Setup
+    public void setUp() {
+        DtoMapper dtoMapper = new DtoMapper();
+        content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(dtoMapper.toReservationDTO(
+                    Fixtures.reservation(i, Fixtures.customer(i), Fixtures.table(i % 20 + 1))));
+        }
+    }
+
+    @Benchmark
+    public PagedResponse<ReservationDTO> of() {
+        return PagedResponse.of(content, 3, pageSize, 10_000L);
+    }
+}
@@ -0,0 +1,81 @@
+package com.quicktable.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin JSON client for the public API. Load calls discard the body and only return the status.
+ */
+final class ApiClient {
+
+    record TableInfo(long id, int capacity) {
+    }
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+                request("/api/auth/login", null).POST(json(Map.of("email", email, "password", password))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": HTTP " + response.statusCode());
+        }
+        return mapper.readTree(response.body()).path("data").path("accessToken").asText();
+    }
+
+    List<TableInfo> tables() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request("/api/tables", null).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<TableInfo> tables = new ArrayList<>();
+        for (JsonNode table : mapper.readTree(response.body()).path("data")) {
+            tables.add(new TableInfo(table.path("id").asLong(), table.path("capacity").asInt()));
+        }
+        return tables;
+    }
+
+    int get(String path, String token) throws IOException, InterruptedException {
+        return http.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int post(String path, Object body, String token) throws IOException, InterruptedException {
+        return http.send(request(path, token).POST(json(body)).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+    }
+}
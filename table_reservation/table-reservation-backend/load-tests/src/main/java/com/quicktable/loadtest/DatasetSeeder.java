@@ -0,0 +1,219 @@
+package com.quicktable.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic restaurant straight through JDBC in batches: tables, customers and a year of
+ * reservations around today. Like the backend's computed reminder mode it writes no reminder
+ * rows; past bookings have their reminder flags set, upcoming ones are left for the sweep. Column
+ * names follow the Hibernate-generated schema so the same seeder works on H2 and PostgreSQL.
+ */
+final class DatasetSeeder {
+
+    static final String CUSTOMER_PASSWORD = "loadtest123";
+    static final String CODE_PREFIX = "LT-";
+
+    private static final LocalTime[] SEATINGS = {
+            LocalTime.of(12, 0), LocalTime.of(17, 0), LocalTime.of(19, 0), LocalTime.of(21, 0)
+    };
+    private static final String[] LOCATIONS = {"WINDOW", "CENTER", "PATIO", "BAR", "PRIVATE"};
+    private static final String[] SHAPES = {"SQUARE", "ROUND", "RECTANGLE", "OVAL"};
+
+    private final DataSource dataSource;
+    private final LoadTestOptions options;
+    private final Random random;
+
+    DatasetSeeder(DataSource dataSource, LoadTestOptions options) {
+        this.dataSource = dataSource;
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    static String customerEmail(int index) {
+        return "load.customer" + index + "@quicktable.test";
+    }
+
+    void seed() throws SQLException {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            List<long[]> tables = insertTables(connection);
+            List<Long> customers = insertCustomers(connection);
+            long reservations = insertReservations(connection, tables, customers);
+
+            System.out.printf("Seeded %d tables, %d customers, %d reservations in %d ms%n",
+                    tables.size(), customers.size(), reservations, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    // Returns {id, capacity} per table
+    private List<long[]> insertTables(Connection connection) throws SQLException {
+        String sql = "INSERT INTO restaurant_tables (table_number, capacity, location, shape, status, "
+                + "positionx, positiony, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<long[]> tables = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"})) {
+            int[] capacities = new int[options.tables()];
+            for (int i = 0; i < options.tables(); i++) {
+                capacities[i] = new int[]{2, 2, 4, 4, 4, 6, 8}[random.nextInt(7)];
+                ps.setInt(1, 1000 + i);
+                ps.setInt(2, capacities[i]);
+                ps.setString(3, LOCATIONS[i % LOCATIONS.length]);
+                ps.setString(4, SHAPES[i % SHAPES.length]);
+                ps.setString(5, "AVAILABLE");
+                ps.setDouble(6, (i % 10) * 80.0);
+                ps.setDouble(7, (i / 10) * 80.0);
+                ps.setString(8, "Load test table " + (1000 + i));
+                ps.setObject(9, now);
+                ps.setObject(10, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next()) {
+                    tables.add(new long[]{keys.getLong(1), capacities[i++]});
+                }
+            }
+        }
+        connection.commit();
+        return tables;
+    }
+
+    private List<Long> insertCustomers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (first_name, last_name, email, phone, password, role, enabled, "
+                + "loyalty_points, loyalty_tier, loyalty_ledger_offset, total_reservations, completed_reservations, "
+                + "cancelled_reservations, total_spent, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, 'USER', TRUE, 0, 'BRONZE', 0, 0, 0, 0, 0, ?, ?)";
+        // One hash for everyone; BCrypt per row would dominate seeding time
+        String passwordHash = new BCryptPasswordEncoder().encode(CUSTOMER_PASSWORD);
+        List<Long> customers = new ArrayList<>(options.customers());
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < options.customers(); i++) {
+                ps.setString(1, "Load");
+                ps.setString(2, "Customer" + i);
+                ps.setString(3, customerEmail(i));
+                ps.setString(4, String.format("555-%04d", i % 10000));
+                ps.setString(5, passwordHash);
+                ps.setObject(6, now.minusDays(random.nextInt(Math.max(1, options.daysBack()))));
+                ps.setObject(7, now);
+                ps.addBatch();
+                if ((i + 1) % options.batchSize() == 0 || i == options.customers() - 1) {
+                    ps.executeBatch();
+                    collectKeys(ps, customers);
+                    connection.commit();
+                }
+            }
+        }
+        return customers;
+    }
+
+    private long insertReservations(Connection connection, List<long[]> tables, List<Long> customers)
+            throws SQLException {
+        String reservationSql = "INSERT INTO reservations (reservation_code, user_id, table_id, customer_name, "
+                + "customer_email, customer_phone, reservation_date, reservation_time, number_of_guests, status, "
+                + "loyalty_points_earned, reminder_sent24h, reminder_sent2h, confirmation_sent, cancelled_at, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?)";
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        long reservations = 0;
+        int batched = 0;
+
+        try (PreparedStatement rs = connection.prepareStatement(reservationSql)) {
+
+            for (LocalDate day = today.minusDays(options.daysBack());
+                 !day.isAfter(today.plusDays(options.daysAhead())); day = day.plusDays(1)) {
+
+                double occupancy = occupancyFor(day);
+                for (long[] table : tables) {
+                    for (LocalTime seating : SEATINGS) {
+                        if (random.nextDouble() >= occupancy) {
+                            continue;
+                        }
+                        int customerIndex = random.nextInt(customers.size());
+                        long userId = customers.get(customerIndex);
+                        LocalDateTime start = LocalDateTime.of(day, seating);
+                        String status = statusFor(start, now);
+                        boolean past = start.isBefore(now);
+
+                        rs.setString(1, CODE_PREFIX + (reservations + 1));
+                        rs.setLong(2, userId);
+                        rs.setLong(3, table[0]);
+                        rs.setString(4, "Load Customer" + customerIndex);
+                        rs.setString(5, customerEmail(customerIndex));
+                        rs.setString(6, String.format("555-%04d", customerIndex % 10000));
+                        rs.setObject(7, day);
+                        rs.setObject(8, seating);
+                        rs.setInt(9, 1 + random.nextInt((int) table[1]));
+                        rs.setString(10, status);
+                        rs.setInt(11, "COMPLETED".equals(status) ? 10 : 0);
+                        rs.setBoolean(12, past);
+                        rs.setBoolean(13, past);
+                        rs.setObject(14, "CANCELLED".equals(status) ? start.minusDays(1) : null);
+                        rs.setObject(15, start.minusDays(1 + random.nextInt(14)));
+                        rs.setObject(16, now);
+                        rs.addBatch();
+                        reservations++;
+
+                        if (++batched == options.batchSize()) {
+                            rs.executeBatch();
+                            connection.commit();
+                            batched = 0;
+                        }
+                    }
+                }
+            }
+            if (batched > 0) {
+                rs.executeBatch();
+                connection.commit();
+            }
+        }
+        return reservations;
+    }
+
+    private double occupancyFor(LocalDate day) {
+        double base = options.occupancy();
+        DayOfWeek dow = day.getDayOfWeek();
+        if (dow == DayOfWeek.FRIDAY || dow == DayOfWeek.SATURDAY) {
+            return Math.min(0.95, base * 1.4);
+        }
+        if (dow == DayOfWeek.MONDAY || dow == DayOfWeek.TUESDAY) {
+            return base * 0.6;
+        }
+        return base;
+    }
+
+    private String statusFor(LocalDateTime start, LocalDateTime now) {
+        int roll = random.nextInt(100);
+        if (start.isAfter(now)) {
+            return roll < 8 ? "CANCELLED" : roll < 25 ? "PENDING" : "CONFIRMED";
+        }
+        return roll < 7 ? "CANCELLED" : roll < 10 ? "NO_SHOW" : "COMPLETED";
+    }
+
+    private static void collectKeys(PreparedStatement ps, List<Long> into) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                into.add(keys.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.quicktable.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop driver: {@code workers} threads call the operation back to back for the warmup
+ * period (discarded), then for the measured duration.
+ */
+final class LoadDriver {
+
+    @FunctionalInterface
+    interface Operation {
+        /** Performs one request and returns its HTTP status. */
+        int call(int worker) throws Exception;
+    }
+
+    private LoadDriver() {
+    }
+
+    static ScenarioResult run(String name, int workers, Duration warmup, Duration duration, Operation operation)
+            throws Exception {
+        ScenarioResult result = new ScenarioResult(name);
+        drive(result, workers, warmup, operation);
+        result.reset();
+        long started = System.nanoTime();
+        drive(result, workers, duration, operation);
+        result.setElapsedNanos(System.nanoTime() - started);
+        return result;
+    }
+
+    private static void drive(ScenarioResult result, int workers, Duration period, Operation operation)
+            throws Exception {
+        if (period.isZero()) {
+            return;
+        }
+        long deadline = System.nanoTime() + period.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = operation.call(worker);
+                        } catch (Exception e) {
+                            status = 599;
+                        }
+                        result.record(start, status);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
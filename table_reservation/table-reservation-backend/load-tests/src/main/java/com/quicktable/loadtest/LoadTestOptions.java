@@ -0,0 +1,73 @@
+package com.quicktable.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --name=value} form. Anything not given falls back to a default
+ * sized for a laptop run against embedded H2.
+ */
+final class LoadTestOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.values.put(arg.substring(2), "true");
+            } else {
+                options.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    // Target: embedded H2 app in this JVM unless --base-url points at a running instance
+    String baseUrl() { return string("base-url", null); }
+    boolean embedded() { return baseUrl() == null; }
+    String jdbcUrl() { return string("jdbc-url", null); }
+    String jdbcUser() { return string("jdbc-user", "postgres"); }
+    String jdbcPassword() { return string("jdbc-password", "postgres123"); }
+    boolean skipSeed() { return Boolean.parseBoolean(string("skip-seed", "false")); }
+
+    // Dataset
+    int tables() { return integer("tables", 60); }
+    int customers() { return integer("customers", 2000); }
+    int daysBack() { return integer("days-back", 270); }
+    int daysAhead() { return integer("days-ahead", 95); }
+    double occupancy() { return Double.parseDouble(string("occupancy", "0.6")); }
+    int batchSize() { return integer("batch-size", 1000); }
+    long seed() { return Long.parseLong(string("seed", "42")); }
+
+    // Load
+    List<String> scenarios() {
+        return Arrays.asList(string("scenarios", "availability,rush,dashboard,reminders").split(","));
+    }
+    int concurrency() { return integer("concurrency", 32); }
+    Duration duration() { return Duration.ofSeconds(integer("duration", 30)); }
+    Duration warmup() { return Duration.ofSeconds(integer("warmup", 5)); }
+    int rushCustomers() { return integer("rush-customers", 50); }
+    int dashboardClients() { return integer("dashboard-clients", 4); }
+    int sweepRuns() { return integer("sweep-runs", 5); }
+    String outputDir() { return string("out", "target/load-results"); }
+
+    private String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    private int integer(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
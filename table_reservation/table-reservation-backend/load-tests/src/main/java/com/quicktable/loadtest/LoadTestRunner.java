@@ -0,0 +1,113 @@
+package com.quicktable.loadtest;
+
+import com.quicktable.backend.QuickTableApplication;
+import com.quicktable.backend.service.NotificationService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a synthetic restaurant and runs the load scenarios against it.
+ *
+ * <pre>
+ * # Embedded: starts the backend in this JVM on H2
+ * mvn -f load-tests/pom.xml compile exec:java -Dexec.args="--tables=80 --customers=5000 --duration=60"
+ *
+ * # Running instance on local PostgreSQL; seeding goes straight to the database
+ * mvn -f load-tests/pom.xml compile exec:java -Dexec.args="--base-url=http://localhost:8081 \
+ *     --jdbc-url=jdbc:postgresql://localhost:5432/quicktable --scenarios=availability,rush,dashboard"
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = options.embedded() ? startEmbedded() : null;
+
+        try {
+            String baseUrl = context != null
+                    ? "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    : options.baseUrl();
+            DataSource dataSource = context != null ? context.getBean(DataSource.class) : externalDataSource(options);
+
+            if (!options.skipSeed()) {
+                if (dataSource == null) {
+                    throw new IllegalArgumentException("--jdbc-url is required to seed a remote instance (or pass --skip-seed)");
+                }
+                new DatasetSeeder(dataSource, options).seed();
+            }
+
+            Scenarios scenarios = new Scenarios(new ApiClient(baseUrl), options);
+            List<ScenarioResult> results = new ArrayList<>();
+            for (String scenario : options.scenarios()) {
+                System.out.println("Running scenario: " + scenario);
+                switch (scenario.trim()) {
+                    case "availability" -> results.add(scenarios.availabilityBurst());
+                    case "rush" -> results.add(scenarios.bookingRush());
+                    case "dashboard" -> results.add(scenarios.dashboardPolling());
+                    case "reminders" -> {
+                        if (context == null) {
+                            System.out.println("  skipped: the reminder sweep can only be driven in embedded mode");
+                        } else {
+                            results.add(scenarios.reminderSweep(context.getBean(NotificationService.class), dataSource));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+                }
+            }
+
+            report(results, Path.of(options.outputDir()));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded() {
+        return new SpringApplicationBuilder(QuickTableApplication.class)
+                .profiles("dev")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.h2.console.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        // The sweep is driven by the reminders scenario, not the scheduler
+                        "--app.notifications.sweep-interval-ms=86400000",
+                        "--app.notifications.reminder-mode=computed",
+                        "--app.rate-limit.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.quicktable.backend=WARN",
+                        "--logging.level.com.quicktable.backend.service.MailDispatcher=OFF",
+                        "--logging.level.com.quicktable.backend.service.EmailService=OFF",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    private static DataSource externalDataSource(LoadTestOptions options) {
+        if (options.jdbcUrl() == null) {
+            return null;
+        }
+        return new DriverManagerDataSource(options.jdbcUrl(), options.jdbcUser(), options.jdbcPassword());
+    }
+
+    private static void report(List<ScenarioResult> results, Path outputDir) throws Exception {
+        System.out.println();
+        ScenarioResult.printHeader(System.out);
+        for (ScenarioResult result : results) {
+            result.print(System.out);
+            result.writeDistribution(outputDir);
+        }
+        System.out.println("\nLatency distributions written to " + outputDir.toAbsolutePath());
+    }
+}
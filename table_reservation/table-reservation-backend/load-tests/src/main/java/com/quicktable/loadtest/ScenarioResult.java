@@ -0,0 +1,82 @@
+package com.quicktable.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds) and outcome counts for one scenario. "Rejected" are expected 4xx
+ * business refusals such as a slot already taken; "errors" are 5xx and transport failures.
+ */
+final class ScenarioResult {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private long elapsedNanos;
+
+    ScenarioResult(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long startNanos, int status) {
+        latencies.recordValue(Math.min(latencies.getHighestTrackableValue(),
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        if (status >= 200 && status < 400) {
+            ok.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        ok.reset();
+        rejected.reset();
+        errors.reset();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-14s %9s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "rejected", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    void print(PrintStream out) {
+        long total = latencies.getTotalCount();
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%-14s %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, total, rejected.sum(), errors.sum(), seconds > 0 ? total / seconds : 0.0,
+                millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0);
+    }
+
+    // Full percentile distribution, loadable in the HdrHistogram plotter
+    void writeDistribution(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(new FileOutputStream(directory.resolve(name + ".hgrm").toFile()))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
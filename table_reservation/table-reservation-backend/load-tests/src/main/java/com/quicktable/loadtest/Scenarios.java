@@ -0,0 +1,118 @@
+package com.quicktable.loadtest;
+
+import com.quicktable.backend.service.NotificationService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The scripted scenarios. HTTP ones go through {@link LoadDriver}; the reminder sweep calls the
+ * scheduled job directly and therefore only runs against the embedded app.
+ */
+final class Scenarios {
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+
+    Scenarios(ApiClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    /** Anonymous availability searches across the next month, as from the public booking page. */
+    ScenarioResult availabilityBurst() throws Exception {
+        return LoadDriver.run("availability", options.concurrency(), options.warmup(), options.duration(), worker -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Map<String, Object> body = Map.of(
+                    "date", LocalDate.now().plusDays(1 + random.nextInt(30)),
+                    "time", LocalTime.of(17, 0).plusMinutes(30L * random.nextInt(10)),
+                    "guests", 2 + random.nextInt(5));
+            return client.post("/api/tables/available", body, null);
+        });
+    }
+
+    /** Logged-in customers all trying to book next Friday evening; taken slots come back as 4xx. */
+    ScenarioResult bookingRush() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < options.rushCustomers(); i++) {
+            tokens.add(client.login(DatasetSeeder.customerEmail(i), DatasetSeeder.CUSTOMER_PASSWORD));
+        }
+        List<ApiClient.TableInfo> tables = client.tables();
+        LocalDate friday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+
+        return LoadDriver.run("rush", options.concurrency(), options.warmup(), options.duration(), worker -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int customer = random.nextInt(tokens.size());
+            ApiClient.TableInfo table = tables.get(random.nextInt(tables.size()));
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("customerName", "Load Customer" + customer);
+            body.put("customerEmail", DatasetSeeder.customerEmail(customer));
+            body.put("customerPhone", String.format("555-%04d", customer));
+            body.put("reservationDate", friday);
+            body.put("reservationTime", LocalTime.of(18, 0).plusMinutes(30L * random.nextInt(8)));
+            body.put("numberOfGuests", 1 + random.nextInt(table.capacity()));
+            body.put("tableId", table.id());
+            return client.post("/api/reservations", body, tokens.get(customer));
+        });
+    }
+
+    /** Admin dashboards left open and refreshing. */
+    ScenarioResult dashboardPolling() throws Exception {
+        String token = client.login("admin@quicktable.com", "admin123");
+        return LoadDriver.run("dashboard", options.dashboardClients(), options.warmup(), options.duration(),
+                worker -> client.get("/api/admin/dashboard", token));
+    }
+
+    /**
+     * Runs the reminder sweep {@code sweep-runs} times. In computed mode it queries the seeded
+     * bookings starting within the next 24 hours whose reminder flags are unset; the flags it set
+     * are cleared between runs so each run does the same work.
+     */
+    ScenarioResult reminderSweep(NotificationService notificationService, DataSource dataSource) throws Exception {
+        ScenarioResult result = new ScenarioResult("reminders");
+        long totalNanos = 0;
+        int reminded = 0;
+
+        for (int run = 0; run < options.sweepRuns(); run++) {
+            LocalDateTime runStarted = LocalDateTime.now();
+            long start = System.nanoTime();
+            notificationService.processPendingNotifications();
+            totalNanos += System.nanoTime() - start;
+            result.record(start, 200);
+            reminded = restoreBacklog(dataSource, runStarted);
+        }
+        result.setElapsedNanos(totalNanos);
+        System.out.printf("Reminder sweep reminded %d bookings per run%n", reminded);
+        return result;
+    }
+
+    // Upcoming seeded bookings were all seeded unreminded, so any with a flag set were reminded by the sweep
+    private int restoreBacklog(DataSource dataSource, LocalDateTime runStarted) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "UPDATE reservations SET reminder_sent24h = FALSE, reminder_sent2h = FALSE "
+                             + "WHERE reservation_code LIKE ? AND reminder_sent24h = TRUE "
+                             + "AND (reservation_date > ? OR (reservation_date = ? AND reservation_time >= ?))")) {
+            ps.setString(1, DatasetSeeder.CODE_PREFIX + "%");
+            ps.setObject(2, runStarted.toLocalDate());
+            ps.setObject(3, runStarted.toLocalDate());
+            ps.setObject(4, runStarted.toLocalTime());
+            int restored = ps.executeUpdate();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return restored;
+        }
+    }
+}
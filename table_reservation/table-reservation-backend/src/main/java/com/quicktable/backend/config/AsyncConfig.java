@@ -0,0 +1,43 @@
+package com.quicktable.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String MAIL_EXECUTOR = "mailTaskExecutor";
+
+    /**
+     * One virtual thread per mail when {@code spring.threads.virtual.enabled=true} (Java 21+),
+     * otherwise a small platform pool. SMTP concurrency is capped in {@code MailDispatcher} either way.
+     */
+    @Bean(name = MAIL_EXECUTOR)
+    public AsyncTaskExecutor mailTaskExecutor(Environment environment,
+                                              @Value("${app.email.max-concurrent-sends:4}") int maxConcurrentSends,
+                                              @Value("${app.email.queue-capacity:1000}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mail-");
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(10000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mail-");
+        executor.setCorePoolSize(maxConcurrentSends);
+        executor.setMaxPoolSize(maxConcurrentSends);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,37 @@
+package com.quicktable.backend.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * In virtual-thread mode, wraps the application DataSource in {@link AdmissionControlDataSource}.
+ * Permits default to the Hikari pool size so callers queue on the semaphore, not inside the pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DataSourceAdmissionConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrent = environment.getProperty("app.datasource.admission.max-concurrent", Integer.class, poolSize);
+        long timeoutMillis = environment.getProperty("app.datasource.admission.timeout-ms", Long.class, 3000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof AdmissionControlDataSource)) {
+                    return new AdmissionControlDataSource(dataSource, maxConcurrent, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
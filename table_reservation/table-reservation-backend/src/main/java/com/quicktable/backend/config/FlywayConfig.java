@@ -0,0 +1,69 @@
+package com.quicktable.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+
+/**
+ * Flyway runs the scripts in {@code db/migration} before JPA starts (spring.flyway). A database
+ * the old in-house migrator set up has its applied versions in {@code schema_history} instead of
+ * Flyway's table; it is baselined at the latest of them on first start, so nothing runs twice.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", matchIfMissing = true)
+public class FlywayConfig {
+
+    static final String LEGACY_HISTORY_TABLE = "schema_history";
+
+    @Bean
+    public FlywayMigrationStrategy adoptLegacySchemaHistory() {
+        return flyway -> {
+            if (flyway.info().applied().length == 0) {
+                MigrationVersion legacy = latestLegacyVersion(flyway.getConfiguration().getDataSource());
+                if (legacy != null) {
+                    log.info("Baselining Flyway at version {} from {}", legacy, LEGACY_HISTORY_TABLE);
+                    Flyway.configure()
+                            .configuration(flyway.getConfiguration())
+                            .baselineVersion(legacy)
+                            .baselineDescription("Adopted from " + LEGACY_HISTORY_TABLE)
+                            .load()
+                            .baseline();
+                }
+            }
+            flyway.migrate();
+        };
+    }
+
+    private static MigrationVersion latestLegacyVersion(DataSource dataSource) {
+        if (!legacyHistoryExists(dataSource)) {
+            return null;
+        }
+        return new JdbcTemplate(dataSource)
+                .queryForList("SELECT version FROM " + LEGACY_HISTORY_TABLE, String.class).stream()
+                .map(MigrationVersion::fromVersion)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private static boolean legacyHistoryExists(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData()
+                     .getTables(null, connection.getSchema(), LEGACY_HISTORY_TABLE, new String[]{"TABLE"})) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not look for " + LEGACY_HISTORY_TABLE, e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.idempotency.IdempotencyProperties;
+import com.quicktable.backend.idempotency.IdempotencyStore;
+import com.quicktable.backend.idempotency.JdbcIdempotencyStore;
+import com.quicktable.backend.idempotency.LocalIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "local", matchIfMissing = true)
+    public IdempotencyStore localIdempotencyStore(IdempotencyProperties properties) {
+        return new LocalIdempotencyStore(properties.getMaxKeys());
+    }
+
+    /**
+     * Keys shared between nodes (in {@code idempotency_keys}), so a retry landing on another
+     * instance still replays.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                                 PlatformTransactionManager transactionManager) {
+        return new JdbcIdempotencyStore(jdbcTemplate, transactionManager);
+    }
+}
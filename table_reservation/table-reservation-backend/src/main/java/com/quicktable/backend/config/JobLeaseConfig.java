@@ -0,0 +1,45 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.scheduling.JdbcJobLeaseStore;
+import com.quicktable.backend.scheduling.JobLeaseManager;
+import com.quicktable.backend.scheduling.JobLeaseProperties;
+import com.quicktable.backend.scheduling.LeasingTaskScheduler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(JobLeaseProperties.class)
+public class JobLeaseConfig implements SchedulingConfigurer {
+
+    private final ObjectProvider<JobLeaseManager> jobLeaseManager;
+    private final ObjectProvider<TaskScheduler> taskScheduler;
+
+    /**
+     * Leases scheduled jobs to one node at a time (in {@code job_leases}) and starts the heartbeat.
+     */
+    @Bean(destroyMethod = "close")
+    public JobLeaseManager jobLeaseManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                           JobLeaseProperties properties, QuickTableMetrics metrics) {
+        JdbcJobLeaseStore store = new JdbcJobLeaseStore(jdbcTemplate, transactionManager);
+        JobLeaseManager manager = new JobLeaseManager(store, properties, metrics);
+        manager.start();
+        return manager;
+    }
+
+    // Wraps the application's TaskScheduler bean (Boot's taskScheduler), so every @Scheduled
+    // method goes through the lease
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(new LeasingTaskScheduler(taskScheduler.getObject(), jobLeaseManager.getObject()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.tracing.QueryTracingFilter;
+import com.quicktable.backend.tracing.RequestQueryStatsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request JDBC tracing: the application DataSource is wrapped in a datasource-proxy that
+ * reports into {@link com.quicktable.backend.tracing.RequestQueryStats}, and a filter turns the
+ * totals into a {@code Server-Timing} header and threshold warnings. Disabled in the prod profile.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.jdbc.tracing", name = "enabled", havingValue = "true")
+public class QueryTracingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryTracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("quicktable")
+                            .listener(new RequestQueryStatsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryTracingFilter> queryTracingFilter(
+            @Value("${app.jdbc.tracing.max-statements:20}") int maxStatements,
+            @Value("${app.jdbc.tracing.max-db-ms:200}") long maxDbMillis,
+            @Value("${app.jdbc.tracing.slow-statement-ms:100}") long slowStatementMillis) {
+        FilterRegistrationBean<QueryTracingFilter> registration = new FilterRegistrationBean<>(
+                new QueryTracingFilter(maxStatements, maxDbMillis, slowStatementMillis));
+        // Outside Spring Security so statements from the JWT user lookup are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.ratelimit.JdbcRateLimitStore;
+import com.quicktable.backend.ratelimit.LocalRateLimitStore;
+import com.quicktable.backend.ratelimit.RateLimitProperties;
+import com.quicktable.backend.ratelimit.RateLimitStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "local", matchIfMissing = true)
+    public RateLimitStore localRateLimitStore(RateLimitProperties properties) {
+        return new LocalRateLimitStore(properties.getMaxKeys());
+    }
+
+    /**
+     * Shared buckets for multi-node deployments, in {@code rate_limit_buckets}.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "jdbc")
+    public RateLimitStore jdbcRateLimitStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcRateLimitStore(jdbcTemplate, transactionManager);
+    }
+}
@@ -0,0 +1,65 @@
+package com.quicktable.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections opened inside read-only transactions to the replica pool and everything
+ * else to the primary. If the replica cannot hand out a connection, reads fall back to the
+ * primary and the replica is skipped until {@code retryDelayMillis} has passed.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryDelayMillis;
+
+    private volatile long replicaRetryAt = 0L;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, long retryDelayMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryDelayMillis = retryDelayMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && System.currentTimeMillis() >= replicaRetryAt) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            replicaRetryAt = System.currentTimeMillis() + retryDelayMillis;
+            log.warn("Replica unavailable, routing reads to primary for {} ms: {}", retryDelayMillis, ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
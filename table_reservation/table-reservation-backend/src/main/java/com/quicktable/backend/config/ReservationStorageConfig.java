@@ -0,0 +1,36 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.migration.LoyaltyLedgerPartitionMaintainer;
+import com.quicktable.backend.migration.ReservationPartitionMaintainer;
+import com.quicktable.backend.service.ReservationArchiver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class ReservationStorageConfig {
+
+    @Bean
+    public ReservationPartitionMaintainer reservationPartitionMaintainer(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${app.partitions.months-ahead:3}") int monthsAhead) {
+        return new ReservationPartitionMaintainer(jdbcTemplate, transactionManager, monthsAhead);
+    }
+
+    @Bean
+    public LoyaltyLedgerPartitionMaintainer loyaltyLedgerPartitionMaintainer(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new LoyaltyLedgerPartitionMaintainer(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public ReservationArchiver reservationArchiver(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, QuickTableMetrics metrics,
+            @Value("${app.archive.retention-days:365}") int retentionDays,
+            @Value("${app.archive.batch-size:500}") int batchSize) {
+        return new ReservationArchiver(jdbcTemplate, transactionManager, metrics, retentionDays, batchSize);
+    }
+}
@@ -0,0 +1,24 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.retention.RetentionProperties;
+import com.quicktable.backend.retention.RetentionPurger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(RetentionProperties.class)
+public class RetentionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RetentionPurger retentionPurger(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                           RetentionProperties properties, QuickTableMetrics metrics) {
+        return new RetentionPurger(dataSource, transactionManager, properties, metrics);
+    }
+}
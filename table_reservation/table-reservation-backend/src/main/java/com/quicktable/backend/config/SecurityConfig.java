@@ -1,10 +1,20 @@
 package com.quicktable.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quicktable.backend.idempotency.IdempotencyFilter;
+import com.quicktable.backend.idempotency.IdempotencyProperties;
+import com.quicktable.backend.idempotency.IdempotencyService;
+import com.quicktable.backend.ratelimit.RateLimitFilter;
+import com.quicktable.backend.ratelimit.RateLimitProperties;
+import com.quicktable.backend.ratelimit.RateLimiter;
 import com.quicktable.backend.security.JwtAuthenticationEntryPoint;
 import com.quicktable.backend.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -20,6 +30,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @EnableWebSecurity
@@ -30,6 +46,43 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final UserDetailsService userDetailsService;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+
+    // Port of the separate management server (management.server.port), -1 while there is none
+    private final AtomicInteger managementPort = new AtomicInteger(-1);
+
+    /**
+     * Actuator endpoints, plus anything on the management port. Health is open; the scrape
+     * endpoint is open only on the internal management port (prod) and everything else is
+     * admin-only. Plain path matchers, since the MVC ones can't resolve the management server's
+     * dispatcher servlet.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(new OrRequestMatcher(onManagementPort(), new AntPathRequestMatcher("/actuator/**")))
+                .csrf(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(jwtAuthenticationEntryPoint))
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/health"),
+                                new AntPathRequestMatcher("/actuator/health/**")).permitAll()
+                        .requestMatchers(new AndRequestMatcher(onManagementPort(),
+                                new AntPathRequestMatcher("/actuator/prometheus"))).permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .authenticationProvider(authenticationProvider())
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -44,8 +97,8 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/contact").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/tables").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/tables/available").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/tables", "/api/tables/calendar", "/api/tables/open-times").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/tables/available", "/api/tables/available/combinations").permitAll()
 
                         // Swagger
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -71,9 +124,29 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
+        }
+        if (idempotencyProperties.isEnabled()) {
+            // After the rate limiter, so rejected retries never claim a key
+            http.addFilterAfter(new IdempotencyFilter(idempotencyService, objectMapper),
+                    rateLimitProperties.isEnabled() ? RateLimitFilter.class : JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort.set(event.getWebServer().getPort());
+        }
+    }
+
+    private RequestMatcher onManagementPort() {
+        return request -> request.getLocalPort() == managementPort.get();
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
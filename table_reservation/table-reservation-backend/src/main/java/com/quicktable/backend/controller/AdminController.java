@@ -4,19 +4,27 @@ import com.quicktable.backend.dto.common.ApiResponse;
 import com.quicktable.backend.dto.common.PagedResponse;
 import com.quicktable.backend.dto.contact.*;
 import com.quicktable.backend.dto.dashboard.DashboardStatsDTO;
+import com.quicktable.backend.dto.job.JobsOverviewDTO;
+import com.quicktable.backend.dto.loyalty.LoyaltyTransactionDTO;
+import com.quicktable.backend.dto.loyalty.RedeemPointsRequest;
 import com.quicktable.backend.dto.reservation.*;
 import com.quicktable.backend.dto.staff.*;
 import com.quicktable.backend.dto.table.*;
 import com.quicktable.backend.dto.user.UserDTO;
 import com.quicktable.backend.entity.TableStatus;
 import com.quicktable.backend.entity.User;
+import com.quicktable.backend.idempotency.IdempotencyFilter;
+import com.quicktable.backend.scheduling.JobLeaseManager;
 import com.quicktable.backend.service.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -39,6 +47,8 @@ public class AdminController {
     private final StaffService staffService;
     private final UserService userService;
     private final ContactMessageService contactMessageService;
+    private final LoyaltyService loyaltyService;
+    private final JobLeaseManager jobLeaseManager;
 
     // ==================== DASHBOARD ====================
 
@@ -116,6 +126,7 @@ public class AdminController {
 
     @PostMapping("/reservations/{id}/cancel")
     @Operation(summary = "Cancel reservation")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.HEADER, description = "Optional; retries with the same key replay the first response")
     public ResponseEntity<ApiResponse<ReservationDTO>> cancelReservation(
             @AuthenticationPrincipal User admin,
             @PathVariable Long id,
@@ -136,8 +147,11 @@ public class AdminController {
     @GetMapping("/tables")
     @Operation(summary = "Get all tables")
     public ResponseEntity<ApiResponse<List<TableDTO>>> getAllTables() {
-        List<TableDTO> tables = tableService.getAllTables();
-        return ResponseEntity.ok(ApiResponse.success(tables));
+        TableCatalog.Snapshot catalog = tableService.getTableCatalog();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(catalog.response());
     }
 
     @PostMapping("/tables")
@@ -254,6 +268,25 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(reservations));
     }
 
+    @GetMapping("/customers/{id}/loyalty-points/history")
+    @Operation(summary = "Get customer's loyalty points history")
+    public ResponseEntity<ApiResponse<PagedResponse<LoyaltyTransactionDTO>>> getCustomerLoyaltyHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<LoyaltyTransactionDTO> history = loyaltyService.getHistory(id, page, size);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
+    @PostMapping("/customers/{id}/loyalty-points/redeem")
+    @Operation(summary = "Redeem customer's loyalty points")
+    public ResponseEntity<ApiResponse<LoyaltyTransactionDTO>> redeemLoyaltyPoints(
+            @PathVariable Long id,
+            @Valid @RequestBody RedeemPointsRequest request) {
+        LoyaltyTransactionDTO transaction = loyaltyService.redeemPoints(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Points redeemed", transaction));
+    }
+
     // ==================== CONTACT MESSAGES ====================
 
     @GetMapping("/messages")
@@ -272,6 +305,13 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(messages));
     }
 
+    @GetMapping("/messages/unread-count")
+    @Operation(summary = "Get number of unread messages")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount() {
+        Long count = contactMessageService.getUnreadCount();
+        return ResponseEntity.ok(ApiResponse.success(count));
+    }
+
     @GetMapping("/messages/{id}")
     @Operation(summary = "Get message by ID")
     public ResponseEntity<ApiResponse<ContactMessageDTO>> getMessageById(@PathVariable Long id) {
@@ -301,4 +341,13 @@ public class AdminController {
         contactMessageService.deleteMessage(id);
         return ResponseEntity.ok(ApiResponse.success("Message deleted"));
     }
+
+    // ==================== SCHEDULED JOBS ====================
+
+    @GetMapping("/jobs")
+    @Operation(summary = "Get scheduled jobs with their lease holders and last runs")
+    public ResponseEntity<ApiResponse<JobsOverviewDTO>> getJobs() {
+        JobsOverviewDTO jobs = jobLeaseManager.overview();
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
 }
@@ -2,9 +2,12 @@ package com.quicktable.backend.controller;
 
 import com.quicktable.backend.dto.auth.ChangePasswordRequest;
 import com.quicktable.backend.dto.common.ApiResponse;
+import com.quicktable.backend.dto.common.PagedResponse;
+import com.quicktable.backend.dto.loyalty.LoyaltyTransactionDTO;
 import com.quicktable.backend.dto.user.UpdateProfileRequest;
 import com.quicktable.backend.dto.user.UserDTO;
 import com.quicktable.backend.entity.User;
+import com.quicktable.backend.service.LoyaltyService;
 import com.quicktable.backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final UserService userService;
+    private final LoyaltyService loyaltyService;
 
     @GetMapping("/profile")
     @Operation(summary = "Get customer profile")
@@ -57,4 +61,14 @@ public class CustomerController {
         UserDTO profile = userService.getUserById(user.getId());
         return ResponseEntity.ok(ApiResponse.success(profile.getLoyaltyPoints()));
     }
+
+    @GetMapping("/loyalty-points/history")
+    @Operation(summary = "Get loyalty points history")
+    public ResponseEntity<ApiResponse<PagedResponse<LoyaltyTransactionDTO>>> getLoyaltyHistory(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<LoyaltyTransactionDTO> history = loyaltyService.getHistory(user.getId(), page, size);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
 }
@@ -5,8 +5,12 @@ import com.quicktable.backend.dto.common.PagedResponse;
 import com.quicktable.backend.dto.reservation.*;
 import com.quicktable.backend.entity.ReservationStatus;
 import com.quicktable.backend.entity.User;
+import com.quicktable.backend.idempotency.IdempotencyFilter;
 import com.quicktable.backend.service.ReservationService;
+import com.quicktable.backend.service.SlotHoldService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,10 +30,12 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final SlotHoldService slotHoldService;
 
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Create a new reservation")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.HEADER, description = "Optional; retries with the same key replay the first response")
     public ResponseEntity<ApiResponse<ReservationDTO>> createReservation(
             @AuthenticationPrincipal User user,
             @Valid @RequestBody CreateReservationRequest request) {
@@ -37,6 +43,27 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success("Reservation created successfully", reservation));
     }
 
+    @PostMapping("/holds")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Hold a table and time slot while the booking form is filled in",
+            description = "Other customers don't see the slot until the hold expires or is released; booking it converts the hold")
+    public ResponseEntity<ApiResponse<SlotHoldDTO>> placeHold(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody SlotHoldRequest request) {
+        SlotHoldDTO hold = slotHoldService.placeHold(user.getId(), request);
+        return ResponseEntity.ok(ApiResponse.success("Time slot held", hold));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Release a slot hold")
+    public ResponseEntity<ApiResponse<Void>> releaseHold(
+            @AuthenticationPrincipal User user,
+            @PathVariable String holdId) {
+        slotHoldService.releaseHold(user.getId(), holdId);
+        return ResponseEntity.ok(ApiResponse.success("Hold released"));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get reservation by ID")
@@ -88,6 +115,7 @@ public class ReservationController {
     @PostMapping("/{id}/cancel")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Cancel reservation by ID")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.HEADER, description = "Optional; retries with the same key replay the first response")
     public ResponseEntity<ApiResponse<ReservationDTO>> cancelReservation(
             @AuthenticationPrincipal User user,
             @PathVariable Long id,
@@ -99,6 +127,7 @@ public class ReservationController {
     @PostMapping("/code/{code}/cancel")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Cancel reservation by code")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.HEADER, description = "Optional; retries with the same key replay the first response")
     public ResponseEntity<ApiResponse<ReservationDTO>> cancelReservationByCode(
             @AuthenticationPrincipal User user,
             @PathVariable String code,
@@ -7,6 +7,7 @@ import com.quicktable.backend.dto.table.TableDTO;
 import com.quicktable.backend.entity.TableStatus;
 import com.quicktable.backend.entity.User;
 import com.quicktable.backend.service.ReservationService;
+import com.quicktable.backend.service.TableCatalog;
 import com.quicktable.backend.service.TableService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -95,8 +97,11 @@ public class StaffController {
     @GetMapping("/tables")
     @Operation(summary = "Get all tables with status")
     public ResponseEntity<ApiResponse<List<TableDTO>>> getAllTables() {
-        List<TableDTO> tables = tableService.getAllTables();
-        return ResponseEntity.ok(ApiResponse.success(tables));
+        TableCatalog.Snapshot catalog = tableService.getTableCatalog();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(catalog.response());
     }
 
     @PatchMapping("/tables/{id}/status")
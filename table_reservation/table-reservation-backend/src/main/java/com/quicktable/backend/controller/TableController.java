@@ -2,14 +2,21 @@ package com.quicktable.backend.controller;
 
 import com.quicktable.backend.dto.common.ApiResponse;
 import com.quicktable.backend.dto.table.*;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.service.SlotAvailabilityService;
+import com.quicktable.backend.service.TableCatalog;
 import com.quicktable.backend.service.TableService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,12 +26,41 @@ import java.util.List;
 public class TableController {
 
     private final TableService tableService;
+    private final SlotAvailabilityService slotAvailabilityService;
 
     @GetMapping
-    @Operation(summary = "Get all tables")
+    @Operation(summary = "Get all tables", description = "Served from the table catalog; send If-None-Match to get a 304")
     public ResponseEntity<ApiResponse<List<TableDTO>>> getAllTables() {
-        List<TableDTO> tables = tableService.getAllTables();
-        return ResponseEntity.ok(ApiResponse.success(tables));
+        TableCatalog.Snapshot catalog = tableService.getTableCatalog();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(catalog.response());
+    }
+
+    @GetMapping("/calendar")
+    @Operation(summary = "Open tables per day and time slot for a party size",
+            description = "One request for a whole date picker; at most app.tables.calendar.max-days days")
+    public ResponseEntity<ApiResponse<AvailabilityCalendarDTO>> getCalendar(
+            @AuthenticationPrincipal User user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam int guests) {
+        AvailabilityCalendarDTO calendar =
+                slotAvailabilityService.getCalendar(from, to, guests, user != null ? user.getId() : null);
+        return ResponseEntity.ok(ApiResponse.success(calendar));
+    }
+
+    @GetMapping("/open-times")
+    @Operation(summary = "Bookable start times on a date for a party size",
+            description = "Every start time of the service day with at least one free table, with table counts")
+    public ResponseEntity<ApiResponse<List<OpenTimeDTO>>> getOpenTimes(
+            @AuthenticationPrincipal User user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam int guests) {
+        List<OpenTimeDTO> openTimes =
+                slotAvailabilityService.getOpenTimes(date, guests, user != null ? user.getId() : null);
+        return ResponseEntity.ok(ApiResponse.success(openTimes));
     }
 
     @GetMapping("/{id}")
@@ -37,8 +73,19 @@ public class TableController {
     @PostMapping("/available")
     @Operation(summary = "Get available tables for date/time/guests")
     public ResponseEntity<ApiResponse<List<TableDTO>>> getAvailableTables(
+            @AuthenticationPrincipal User user,
             @Valid @RequestBody AvailableTablesRequest request) {
-        List<TableDTO> tables = tableService.getAvailableTables(request);
+        List<TableDTO> tables = tableService.getAvailableTables(request, user != null ? user.getId() : null);
         return ResponseEntity.ok(ApiResponse.success(tables));
     }
+
+    @PostMapping("/available/combinations")
+    @Operation(summary = "Get free combinations of adjacent tables for a large party")
+    public ResponseEntity<ApiResponse<List<TableCombinationDTO>>> getAvailableCombinations(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody AvailableTablesRequest request) {
+        List<TableCombinationDTO> combinations =
+                tableService.getAvailableCombinations(request, user != null ? user.getId() : null);
+        return ResponseEntity.ok(ApiResponse.success(combinations));
+    }
 }
@@ -0,0 +1,30 @@
+package com.quicktable.backend.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatusDTO {
+
+    public enum Scope {
+        CLUSTER,
+        NODE
+    }
+
+    private String name;
+    private Scope scope;
+    private String leaseOwner;
+    private LocalDateTime leaseExpiresAt;
+    private String lastRunBy;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastFinishedAt;
+    private Long lastDurationMs;
+    private String lastOutcome;
+}
@@ -0,0 +1,19 @@
+package com.quicktable.backend.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobsOverviewDTO {
+
+    private String node;
+    private boolean leasesEnabled;
+    private List<JobStatusDTO> jobs;
+}
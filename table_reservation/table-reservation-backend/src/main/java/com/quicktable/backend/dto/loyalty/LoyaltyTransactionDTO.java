@@ -0,0 +1,23 @@
+package com.quicktable.backend.dto.loyalty;
+
+import com.quicktable.backend.entity.LoyaltyTransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyTransactionDTO {
+
+    private Long id;
+    private LoyaltyTransactionType type;
+    private Integer points;
+    private Long reservationId;
+    private String description;
+    private LocalDateTime createdAt;
+}
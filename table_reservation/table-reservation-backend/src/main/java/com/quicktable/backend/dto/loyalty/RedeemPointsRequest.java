@@ -0,0 +1,21 @@
+package com.quicktable.backend.dto.loyalty;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedeemPointsRequest {
+
+    @NotNull(message = "Points are required")
+    @Min(value = 1, message = "At least 1 point must be redeemed")
+    private Integer points;
+
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+}
@@ -1,5 +1,6 @@
 package com.quicktable.backend.dto.reservation;
 
+import com.quicktable.backend.entity.TableLocation;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -35,9 +37,16 @@ public class CreateReservationRequest {
     @Max(value = 20, message = "Maximum 20 guests allowed")
     private Integer numberOfGuests;
 
-    @NotNull(message = "Table ID is required")
+    // Optional: when absent the best-fitting free table is assigned
     private Long tableId;
 
+    // Further tables pushed together with tableId for a large party (see /api/tables/available/combinations)
+    @Size(max = 3, message = "At most 3 tables can be joined to a reservation")
+    private List<Long> joinedTableIds;
+
+    // Only used when tableId is absent; other locations are offered if none fits there
+    private TableLocation preferredLocation;
+
     @Size(max = 1000, message = "Special requests must be less than 1000 characters")
     private String specialRequests;
 }
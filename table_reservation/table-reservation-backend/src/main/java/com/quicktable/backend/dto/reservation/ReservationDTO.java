@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -32,6 +33,7 @@ public class ReservationDTO {
     private String tableName;
     private Integer tableNumber;
     private String tableLocation;
+    private List<Integer> joinedTableNumbers;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
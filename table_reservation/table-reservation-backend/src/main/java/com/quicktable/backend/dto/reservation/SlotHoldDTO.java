@@ -0,0 +1,23 @@
+package com.quicktable.backend.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldDTO {
+
+    private String holdId;
+    private Long tableId;
+    private LocalDate reservationDate;
+    private LocalTime reservationTime;
+    private LocalDateTime expiresAt;
+}
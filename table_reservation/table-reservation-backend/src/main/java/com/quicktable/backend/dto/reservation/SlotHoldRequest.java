@@ -0,0 +1,26 @@
+package com.quicktable.backend.dto.reservation;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldRequest {
+
+    @NotNull(message = "Table ID is required")
+    private Long tableId;
+
+    @NotNull(message = "Reservation date is required")
+    @FutureOrPresent(message = "Reservation date must be today or in the future")
+    private LocalDate reservationDate;
+
+    @NotNull(message = "Reservation time is required")
+    private LocalTime reservationTime;
+}
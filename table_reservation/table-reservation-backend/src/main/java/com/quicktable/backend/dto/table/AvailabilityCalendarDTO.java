@@ -0,0 +1,26 @@
+package com.quicktable.backend.dto.table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Open tables per day and start time. Each day's {@code open} list lines up with {@code slots}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCalendarDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Integer guests;
+    private List<LocalTime> slots;
+    private List<CalendarDayDTO> days;
+}
@@ -0,0 +1,19 @@
+package com.quicktable.backend.dto.table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayDTO {
+
+    private LocalDate date;
+    private List<Integer> open;
+}
@@ -0,0 +1,28 @@
+package com.quicktable.backend.dto.table;
+
+import com.quicktable.backend.entity.TableLocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.Map;
+
+/**
+ * A start time with at least one free table, or free combination of tables, for the party.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenTimeDTO {
+
+    private LocalTime time;
+    private Integer tables;
+    // Free combinations of adjacent tables; only counted when no single table is free
+    private Integer combinations;
+    // Seats at the smallest free table (or the best free combination), i.e. what the allocator would assign
+    private Integer bestFitCapacity;
+    private Map<TableLocation, Integer> byLocation;
+}
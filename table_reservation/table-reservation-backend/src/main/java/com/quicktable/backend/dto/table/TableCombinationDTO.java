@@ -0,0 +1,25 @@
+package com.quicktable.backend.dto.table;
+
+import com.quicktable.backend.entity.TableLocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Adjacent tables that can be pushed together and booked as one unit; book it with the first
+ * id as {@code tableId} and the rest as {@code joinedTableIds}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableCombinationDTO {
+
+    private List<Long> tableIds;
+    private List<Integer> tableNumbers;
+    private Integer capacity;
+    private TableLocation location;
+}
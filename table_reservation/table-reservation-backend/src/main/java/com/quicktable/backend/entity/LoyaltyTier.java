@@ -4,5 +4,16 @@ public enum LoyaltyTier {
     BRONZE,
     SILVER,
     GOLD,
-    PLATINUM
+    PLATINUM;
+
+    public static LoyaltyTier forPoints(long points) {
+        if (points >= 1000) {
+            return PLATINUM;
+        } else if (points >= 500) {
+            return GOLD;
+        } else if (points >= 200) {
+            return SILVER;
+        }
+        return BRONZE;
+    }
 }
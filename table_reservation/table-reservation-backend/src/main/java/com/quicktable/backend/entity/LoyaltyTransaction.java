@@ -0,0 +1,49 @@
+package com.quicktable.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only loyalty ledger entry. Rows are never updated; a user's balance is the
+ * snapshot on {@link User#getLoyaltyPoints()} plus any entries after
+ * {@link User#getLoyaltyLedgerOffset()}.
+ */
+@Entity
+@Table(name = "loyalty_ledger", indexes = {
+        @Index(name = "idx_loyalty_ledger_user", columnList = "user_id, id"),
+        @Index(name = "idx_loyalty_ledger_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoyaltyTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids rather than associations so inserts never touch the user or reservation rows
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LoyaltyTransactionType type;
+
+    // Signed: positive for EARNED, negative for REDEEMED and EXPIRED
+    @Column(nullable = false)
+    private Integer points;
+
+    private String description;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.quicktable.backend.entity;
+
+public enum LoyaltyTransactionType {
+    EARNED,
+    REDEEMED,
+    EXPIRED
+}
@@ -2,15 +2,20 @@ package com.quicktable.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
 
+// idx_reservations_table is the SQL schema's name, so ddl-auto doesn't add a second index. It spans
+// every status because existsByTableId and the foreign key check look at past bookings too.
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = @Index(name = "idx_reservations_table", columnList = "table_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +38,16 @@ public class Reservation {
     @JoinColumn(name = "table_id", nullable = false)
     private RestaurantTable table;
 
+    // Further tables pushed together with table for a large party
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "reservation_tables",
+            joinColumns = @JoinColumn(name = "reservation_id"),
+            inverseJoinColumns = @JoinColumn(name = "table_id"),
+            indexes = @Index(name = "idx_reservation_tables_table", columnList = "table_id"))
+    @BatchSize(size = 50)
+    @Builder.Default
+    private Set<RestaurantTable> joinedTables = new HashSet<>();
+
     @Column(nullable = false)
     private String customerName;
 
@@ -6,8 +6,6 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "restaurant_tables")
@@ -47,10 +45,6 @@ public class RestaurantTable {
 
     private String description;
 
-    @Builder.Default
-    @OneToMany(mappedBy = "table", cascade = CascadeType.ALL)
-    private List<Reservation> reservations = new ArrayList<>();
-
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -68,6 +68,10 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private LoyaltyTier loyaltyTier = LoyaltyTier.BRONZE;
 
+    // Id of the last loyalty ledger entry folded into loyaltyPoints/loyaltyTier
+    @Builder.Default
+    private Long loyaltyLedgerOffset = 0L;
+
     @Builder.Default
     private Integer totalReservations = 0;
 
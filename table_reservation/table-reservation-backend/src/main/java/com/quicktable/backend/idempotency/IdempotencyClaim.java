@@ -0,0 +1,27 @@
+package com.quicktable.backend.idempotency;
+
+/**
+ * Result of trying to claim a key: the caller either owns it now, must wait for the owner, or
+ * gets the owner's stored response.
+ */
+public record IdempotencyClaim(State state, StoredResponse response) {
+
+    public enum State {
+        /** The caller owns the key and must complete or release it. */
+        ACQUIRED,
+        /** Another request with the same key and payload is still running. */
+        IN_PROGRESS,
+        /** A request with this key already completed; {@link #response()} is set. */
+        COMPLETED,
+        /** The key was used for a different request. */
+        MISMATCH
+    }
+
+    static final IdempotencyClaim ACQUIRED = new IdempotencyClaim(State.ACQUIRED, null);
+    static final IdempotencyClaim IN_PROGRESS = new IdempotencyClaim(State.IN_PROGRESS, null);
+    static final IdempotencyClaim MISMATCH = new IdempotencyClaim(State.MISMATCH, null);
+
+    static IdempotencyClaim completed(StoredResponse response) {
+        return new IdempotencyClaim(State.COMPLETED, response);
+    }
+}
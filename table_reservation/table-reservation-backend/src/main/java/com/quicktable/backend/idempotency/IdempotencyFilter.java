@@ -0,0 +1,229 @@
+package com.quicktable.backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quicktable.backend.dto.common.ApiResponse;
+import com.quicktable.backend.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Makes retried writes safe: the first request carrying a given {@code Idempotency-Key} runs, its
+ * response is stored, and repeats get that response back without reaching the controller.
+ * Duplicates arriving while the first is still running wait for it. Keys are scoped to the
+ * authenticated user and bound to the method, URL and body they were first used with.
+ * Like {@code RateLimitFilter}, it runs in the security chain and is deliberately not a bean.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (idempotencyKey == null || !idempotencyService.applies(request)
+                || authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String key = user.getId() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+        HttpServletRequest replayableRequest = new CachedBodyRequest(request, body);
+
+        long deadline = System.currentTimeMillis() + idempotencyService.waitTimeoutMillis();
+        while (true) {
+            IdempotencyClaim claim = idempotencyService.claim(key, fingerprint);
+            switch (claim.state()) {
+                case ACQUIRED -> {
+                    execute(key, replayableRequest, response, filterChain);
+                    return;
+                }
+                case COMPLETED -> {
+                    replay(claim.response(), response);
+                    return;
+                }
+                case MISMATCH -> {
+                    idempotencyService.recordOutcome("mismatch");
+                    writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            HEADER + " was already used for a different request");
+                    return;
+                }
+                case IN_PROGRESS -> {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0 || !awaitQuietly(key, remaining)) {
+                        idempotencyService.recordOutcome("timeout");
+                        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                        writeError(response, HttpStatus.CONFLICT,
+                                "A request with this " + HEADER + " is still being processed");
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper caching = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, caching);
+            byte[] content = caching.getContentAsByteArray();
+            // Server errors may be transient, so the retry gets to run again
+            if (caching.getStatus() < 500 && content.length <= idempotencyService.maxBodyBytes()) {
+                idempotencyService.complete(key, new StoredResponse(caching.getStatus(), caching.getContentType(), content));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyService.release(key);
+            }
+            idempotencyService.recordOutcome("executed");
+            caching.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        idempotencyService.recordOutcome("replayed");
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private boolean awaitQuietly(String key, long timeoutMillis) {
+        try {
+            idempotencyService.await(key, timeoutMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        log.debug("Idempotency check failed with {}: {}", status.value(), message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Serves the already-read body to the rest of the chain. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
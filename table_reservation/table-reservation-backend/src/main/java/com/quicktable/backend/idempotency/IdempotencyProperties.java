@@ -0,0 +1,40 @@
+package com.quicktable.backend.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /** Where keys live: in this JVM, or in a shared database table. */
+    private StoreType store = StoreType.LOCAL;
+
+    /** Upper bound on keys held by the local store; completed keys are evicted first. */
+    private int maxKeys = 10_000;
+
+    /** How long a completed response is replayed for. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** How long a key stays claimed by a request that never completes (e.g. the node died). */
+    private Duration inFlightTimeout = Duration.ofMinutes(1);
+
+    /** How long a duplicate waits for the first request before giving up with 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Responses larger than this are not stored; the key is released instead. */
+    private int maxBodyBytes = 64 * 1024;
+
+    /** Endpoints honouring {@code Idempotency-Key}, as {@code METHOD /ant/pattern}. */
+    private List<String> endpoints = new ArrayList<>();
+
+    public enum StoreType {
+        LOCAL, JDBC
+    }
+}
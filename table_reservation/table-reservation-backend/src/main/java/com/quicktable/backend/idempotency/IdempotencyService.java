@@ -0,0 +1,87 @@
+package com.quicktable.backend.idempotency;
+
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.scheduling.NodeLocalJob;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Decides which requests honour {@code Idempotency-Key} and fronts the {@link IdempotencyStore}
+ * with the configured lifetimes.
+ */
+@Component
+public class IdempotencyService {
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final QuickTableMetrics metrics;
+    private final List<Endpoint> endpoints;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyService(IdempotencyProperties properties, IdempotencyStore store, QuickTableMetrics metrics) {
+        this.properties = properties;
+        this.store = store;
+        this.metrics = metrics;
+        this.endpoints = properties.getEndpoints().stream().map(Endpoint::parse).toList();
+    }
+
+    private record Endpoint(String method, String pattern) {
+
+        static Endpoint parse(String spec) {
+            String[] parts = spec.trim().split("\\s+");
+            if (parts.length != 2 || !parts[1].startsWith("/")) {
+                throw new IllegalStateException("Invalid idempotent endpoint, expected 'METHOD /path': " + spec);
+            }
+            return new Endpoint(parts[0], parts[1]);
+        }
+    }
+
+    public boolean applies(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.method().equalsIgnoreCase(request.getMethod()) && pathMatcher.match(endpoint.pattern(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public IdempotencyClaim claim(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        return store.claim(key, fingerprint, now, now + properties.getInFlightTimeout().toMillis());
+    }
+
+    public void await(String key, long timeoutMillis) throws InterruptedException {
+        store.await(key, timeoutMillis);
+    }
+
+    public void complete(String key, StoredResponse response) {
+        store.complete(key, response, System.currentTimeMillis() + properties.getTtl().toMillis());
+    }
+
+    public void release(String key) {
+        store.release(key);
+    }
+
+    public void recordOutcome(String outcome) {
+        metrics.idempotentRequest(outcome);
+    }
+
+    public long waitTimeoutMillis() {
+        return properties.getWaitTimeout().toMillis();
+    }
+
+    public int maxBodyBytes() {
+        return properties.getMaxBodyBytes();
+    }
+
+    @NodeLocalJob
+    @Scheduled(fixedDelayString = "${app.idempotency.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        store.evictExpired(System.currentTimeMillis());
+    }
+}
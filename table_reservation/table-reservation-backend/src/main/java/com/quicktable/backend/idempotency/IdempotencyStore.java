@@ -0,0 +1,28 @@
+package com.quicktable.backend.idempotency;
+
+/**
+ * Holds in-flight and completed keys. {@link LocalIdempotencyStore} keeps them in memory (single
+ * node); {@link JdbcIdempotencyStore} shares them between nodes through the database.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key} for a request with the given fingerprint unless a live entry holds it.
+     *
+     * @param claimExpiresAtMillis when the claim lapses if the owner never completes it
+     */
+    IdempotencyClaim claim(String key, String fingerprint, long nowMillis, long claimExpiresAtMillis);
+
+    /**
+     * Blocks until the owner of {@code key} completes or releases it, or the timeout passes.
+     * Callers claim again afterwards to learn which.
+     */
+    void await(String key, long timeoutMillis) throws InterruptedException;
+
+    void complete(String key, StoredResponse response, long expiresAtMillis);
+
+    /** Forgets an in-flight key so a retry runs the request again. */
+    void release(String key);
+
+    void evictExpired(long nowMillis);
+}
@@ -0,0 +1,119 @@
+package com.quicktable.backend.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keys shared by every node through the {@code idempotency_keys} table. A claim is a plain
+ * insert, so the primary key decides which node runs the request; duplicates on other nodes
+ * poll the row until it holds a response. Each write commits in a transaction of its own, also
+ * when the pool hands out connections with auto-commit off (as in prod), and a failed insert
+ * can't poison the statements after it.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private record Row(String fingerprint, Integer status, String contentType, byte[] body, long expiresAtMillis) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public IdempotencyClaim claim(String key, String fingerprint, long nowMillis, long claimExpiresAtMillis) {
+        // Two rounds cover a row that is deleted or taken over between our insert and select
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                update("INSERT INTO idempotency_keys (idem_key, fingerprint, expires_at) VALUES (?, ?, ?)",
+                        key, fingerprint, claimExpiresAtMillis);
+                return IdempotencyClaim.ACQUIRED;
+            } catch (DuplicateKeyException e) {
+                // Fall through to inspect the existing row
+            }
+
+            Row row = find(key);
+            if (row == null) {
+                continue;
+            }
+            if (row.expiresAtMillis() <= nowMillis) {
+                int taken = update("""
+                                UPDATE idempotency_keys
+                                SET fingerprint = ?, status_code = NULL, content_type = NULL,
+                                    response_body = NULL, expires_at = ?
+                                WHERE idem_key = ? AND expires_at = ?""",
+                        fingerprint, claimExpiresAtMillis, key, row.expiresAtMillis());
+                if (taken == 1) {
+                    return IdempotencyClaim.ACQUIRED;
+                }
+                continue;
+            }
+            if (!row.fingerprint().equals(fingerprint)) {
+                return IdempotencyClaim.MISMATCH;
+            }
+            if (row.status() != null) {
+                return IdempotencyClaim.completed(new StoredResponse(row.status(), row.contentType(), row.body()));
+            }
+            return IdempotencyClaim.IN_PROGRESS;
+        }
+        return IdempotencyClaim.IN_PROGRESS;
+    }
+
+    @Override
+    public void await(String key, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(Math.min(POLL_INTERVAL_MILLIS, Math.max(1, deadline - System.currentTimeMillis())));
+            List<Integer> pending = jdbcTemplate.queryForList(
+                    "SELECT 1 FROM idempotency_keys WHERE idem_key = ? AND status_code IS NULL AND expires_at > ?",
+                    Integer.class, key, System.currentTimeMillis());
+            if (pending.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, long expiresAtMillis) {
+        update("""
+                        UPDATE idempotency_keys SET status_code = ?, content_type = ?, response_body = ?, expires_at = ?
+                        WHERE idem_key = ? AND status_code IS NULL""",
+                response.status(), response.contentType(), response.body(), expiresAtMillis, key);
+    }
+
+    @Override
+    public void release(String key) {
+        update("DELETE FROM idempotency_keys WHERE idem_key = ? AND status_code IS NULL", key);
+    }
+
+    @Override
+    public void evictExpired(long nowMillis) {
+        update("DELETE FROM idempotency_keys WHERE expires_at <= ?", nowMillis);
+    }
+
+    private int update(String sql, Object... args) {
+        Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+        return rows != null ? rows : 0;
+    }
+
+    private Row find(String key) {
+        List<Row> rows = jdbcTemplate.query("""
+                        SELECT fingerprint, status_code, content_type, response_body, expires_at
+                        FROM idempotency_keys WHERE idem_key = ?""",
+                (rs, rowNum) -> new Row(rs.getString(1), (Integer) rs.getObject(2), rs.getString(3),
+                        rs.getBytes(4), rs.getLong(5)),
+                key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
@@ -0,0 +1,122 @@
+package com.quicktable.backend.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory keys. Duplicates of an in-flight request park on that entry's latch and are woken
+ * when it completes, so they never poll. Memory is bounded by {@code maxKeys}: once exceeded,
+ * expired entries are dropped, then completed ones; in-flight entries are never evicted.
+ */
+@Slf4j
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private static final class Entry {
+        final String fingerprint;
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile long expiresAtMillis;
+        volatile StoredResponse response;
+
+        Entry(String fingerprint, long expiresAtMillis) {
+            this.fingerprint = fingerprint;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxKeys;
+
+    public LocalIdempotencyStore(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public IdempotencyClaim claim(String key, String fingerprint, long nowMillis, long claimExpiresAtMillis) {
+        Entry created = new Entry(fingerprint, claimExpiresAtMillis);
+        Entry entry = entries.compute(key, (k, existing) ->
+                existing == null || existing.expiresAtMillis <= nowMillis ? created : existing);
+
+        if (entry == created) {
+            if (entries.size() > maxKeys) {
+                evict(nowMillis);
+            }
+            return IdempotencyClaim.ACQUIRED;
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return IdempotencyClaim.MISMATCH;
+        }
+        StoredResponse response = entry.response;
+        return response != null ? IdempotencyClaim.completed(response) : IdempotencyClaim.IN_PROGRESS;
+    }
+
+    @Override
+    public void await(String key, long timeoutMillis) throws InterruptedException {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, long expiresAtMillis) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response = response;
+            entry.expiresAtMillis = expiresAtMillis;
+            entry.done.countDown();
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.done.countDown();
+        }
+    }
+
+    @Override
+    public void evictExpired(long nowMillis) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= nowMillis && expire(entry));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean expire(Entry entry) {
+        // Wake anyone still parked on a lapsed claim; their next claim takes the key over
+        entry.done.countDown();
+        return true;
+    }
+
+    private void evict(long nowMillis) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictExpired(nowMillis);
+            int target = maxKeys - maxKeys / 10;
+            Iterator<Entry> iterator = entries.values().iterator();
+            int dropped = 0;
+            while (entries.size() > target && iterator.hasNext()) {
+                if (iterator.next().response != null) {
+                    iterator.remove();
+                    dropped++;
+                }
+            }
+            if (dropped > 0) {
+                log.warn("Idempotency store over {} keys, dropped {} completed keys early", maxKeys, dropped);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.quicktable.backend.idempotency;
+
+/**
+ * The response replayed for a repeated {@code Idempotency-Key}. The body is kept as the bytes
+ * that were sent, so a replay is a copy and never touches the service layer.
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,38 @@
+package com.quicktable.backend.mail;
+
+import com.quicktable.backend.entity.ContactMessage;
+
+/**
+ * A contact-form submission as it appears in the admin digest, copied out of the entity when
+ * the message is saved.
+ */
+public record ContactMailView(
+        String firstName,
+        String lastName,
+        String email,
+        String message,
+        String receivedAt
+) implements MailModel {
+
+    public static ContactMailView from(ContactMessage contactMessage) {
+        return new ContactMailView(
+                contactMessage.getFirstName(),
+                contactMessage.getLastName(),
+                contactMessage.getEmail(),
+                contactMessage.getMessage(),
+                String.valueOf(contactMessage.getCreatedAt())
+        );
+    }
+
+    @Override
+    public String get(MailField field) {
+        return switch (field) {
+            case FIRST_NAME -> firstName;
+            case LAST_NAME -> lastName;
+            case EMAIL -> email;
+            case MESSAGE -> message;
+            case RECEIVED_AT -> receivedAt;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.quicktable.backend.mail;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every placeholder a mail template may use. Templates refer to them as {@code {{customerName}}};
+ * unknown names are rejected when the template is parsed, not when a mail is sent.
+ */
+public enum MailField {
+
+    CUSTOMER_NAME("customerName"),
+    RESERVATION_CODE("reservationCode"),
+    DATE("date"),
+    TIME("time"),
+    GUESTS("guests"),
+    TABLE("table"),
+    SPECIAL_REQUESTS("specialRequests"),
+    CANCELLATION_REASON("cancellationReason"),
+    HOURS_UNTIL("hoursUntil"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    RESET_LINK("resetLink"),
+    MESSAGE("message"),
+    RECEIVED_AT("receivedAt"),
+    MESSAGE_COUNT("messageCount"),
+    ITEMS("items");
+
+    private static final Map<String, MailField> BY_PLACEHOLDER = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(MailField::getPlaceholder, Function.identity()));
+
+    private final String placeholder;
+
+    MailField(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public static MailField fromPlaceholder(String placeholder) {
+        return BY_PLACEHOLDER.get(placeholder);
+    }
+}
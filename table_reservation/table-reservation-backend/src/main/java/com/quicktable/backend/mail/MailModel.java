@@ -0,0 +1,11 @@
+package com.quicktable.backend.mail;
+
+/**
+ * Values for a template's placeholders. Implementations hold plain, already formatted strings;
+ * a {@code null} value renders as nothing.
+ */
+@FunctionalInterface
+public interface MailModel {
+
+    String get(MailField field);
+}
@@ -0,0 +1,103 @@
+package com.quicktable.backend.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating literal segments and placeholders. Rendering is a
+ * straight walk over two arrays into the caller's buffer: no regex, no format parsing.
+ * In HTML templates {@code {{name}}} is escaped and {@code {{{name}}}} is inserted as is
+ * (for fragments that were themselves rendered from a template).
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String RAW_OPEN = "{{{";
+    private static final String RAW_CLOSE = "}}}";
+
+    private final String name;
+    private final boolean html;
+    private final String[] literals;
+    private final MailField[] fields;
+    private final boolean[] raw;
+
+    private MailTemplate(String name, boolean html, String[] literals, MailField[] fields, boolean[] raw) {
+        this.name = name;
+        this.html = html;
+        this.literals = literals;
+        this.fields = fields;
+        this.raw = raw;
+    }
+
+    public static MailTemplate parse(String name, String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<MailField> fields = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            boolean isRaw = source.startsWith(RAW_OPEN, open);
+            String openToken = isRaw ? RAW_OPEN : OPEN;
+            String closeToken = isRaw ? RAW_CLOSE : CLOSE;
+            int close = source.indexOf(closeToken, open + openToken.length());
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in mail template " + name);
+            }
+            String placeholder = source.substring(open + openToken.length(), close).trim();
+            MailField field = MailField.fromPlaceholder(placeholder);
+            if (field == null) {
+                throw new IllegalStateException("Unknown placeholder {{" + placeholder + "}} in mail template " + name);
+            }
+            literals.add(source.substring(position, open));
+            fields.add(field);
+            raw.add(isRaw);
+            position = close + closeToken.length();
+        }
+        literals.add(source.substring(position));
+
+        boolean[] rawFlags = new boolean[raw.size()];
+        for (int i = 0; i < rawFlags.length; i++) {
+            rawFlags[i] = raw.get(i);
+        }
+        return new MailTemplate(name, html, literals.toArray(String[]::new), fields.toArray(MailField[]::new), rawFlags);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void renderTo(StringBuilder out, MailModel model) {
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            String value = model.get(fields[i]);
+            if (value != null) {
+                if (html && !raw[i]) {
+                    appendEscaped(out, value);
+                } else {
+                    out.append(value);
+                }
+            }
+        }
+        out.append(literals[fields.length]);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                case '\n' -> out.append("<br>");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.quicktable.backend.mail;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads and parses {@code mail/<type>.txt} and {@code mail/<type>.html} for every {@link MailType}
+ * at startup, so a broken template fails the boot instead of a send.
+ */
+@Component
+public class MailTemplates {
+
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    private final Map<MailType, MailTemplate> text = new EnumMap<>(MailType.class);
+    private final Map<MailType, MailTemplate> html = new EnumMap<>(MailType.class);
+    private final Map<MailType, MailTemplate> itemText = new EnumMap<>(MailType.class);
+    private final Map<MailType, MailTemplate> itemHtml = new EnumMap<>(MailType.class);
+
+    public MailTemplates() {
+        for (MailType type : MailType.values()) {
+            text.put(type, load(type.getKey() + ".txt", false));
+            html.put(type, load(type.getKey() + ".html", true));
+            if (new ClassPathResource("mail/" + type.getKey() + "_item.txt").exists()) {
+                itemText.put(type, load(type.getKey() + "_item.txt", false));
+                itemHtml.put(type, load(type.getKey() + "_item.html", true));
+            }
+        }
+    }
+
+    public RenderedMail render(MailType type, MailModel model) {
+        return new RenderedMail(type, render(text.get(type), model), render(html.get(type), model));
+    }
+
+    /**
+     * Renders each item with the type's {@code _item} template and hands the result to the main
+     * template as {@code {{{items}}}}.
+     */
+    public RenderedMail render(MailType type, MailModel model, List<? extends MailModel> items) {
+        if (!itemText.containsKey(type)) {
+            throw new IllegalArgumentException("No item template for mail type " + type.getKey());
+        }
+        String textItems = renderAll(itemText.get(type), items);
+        String htmlItems = renderAll(itemHtml.get(type), items);
+        return new RenderedMail(type,
+                render(text.get(type), field -> field == MailField.ITEMS ? textItems : model.get(field)),
+                render(html.get(type), field -> field == MailField.ITEMS ? htmlItems : model.get(field)));
+    }
+
+    private static String renderAll(MailTemplate template, List<? extends MailModel> items) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (MailModel item : items) {
+            template.renderTo(buffer, item);
+        }
+        return release(buffer);
+    }
+
+    private static String render(MailTemplate template, MailModel model) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, model);
+        return release(buffer);
+    }
+
+    private static String release(StringBuilder buffer) {
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static MailTemplate load(String file, boolean isHtml) {
+        ClassPathResource resource = new ClassPathResource("mail/" + file);
+        try (InputStream in = resource.getInputStream()) {
+            return MailTemplate.parse(file, new String(in.readAllBytes(), StandardCharsets.UTF_8), isHtml);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load mail template " + file, e);
+        }
+    }
+}
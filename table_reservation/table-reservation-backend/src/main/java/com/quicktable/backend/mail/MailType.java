@@ -0,0 +1,32 @@
+package com.quicktable.backend.mail;
+
+/**
+ * Mails the application sends. The key names the templates ({@code mail/<key>.txt} and
+ * {@code mail/<key>.html}, plus optional {@code <key>_item} templates for repeated entries)
+ * and is the {@code type} tag on the email meters.
+ */
+public enum MailType {
+
+    CONFIRMATION("confirmation", "Reservation Confirmation - QuickTable"),
+    CANCELLATION("cancellation", "Reservation Cancelled - QuickTable"),
+    REMINDER("reminder", "Reservation Reminder - QuickTable"),
+    PASSWORD_RESET("password_reset", "Password Reset Request - QuickTable"),
+    CONTACT_DIGEST("contact_digest", "New Contact Messages - QuickTable"),
+    CONTACT_REPLY("contact_reply", "Re: Your Message to QuickTable");
+
+    private final String key;
+    private final String subject;
+
+    MailType(String key, String subject) {
+        this.key = key;
+        this.subject = subject;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+}
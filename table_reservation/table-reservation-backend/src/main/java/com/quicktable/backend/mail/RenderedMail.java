@@ -0,0 +1,4 @@
+package com.quicktable.backend.mail;
+
+public record RenderedMail(MailType type, String text, String html) {
+}
@@ -0,0 +1,47 @@
+package com.quicktable.backend.mail;
+
+import com.quicktable.backend.entity.Reservation;
+
+/**
+ * What reservation mails need, copied out of the entity while it is still attached. Rendering
+ * and sending only ever see this record, so they never touch JPA.
+ */
+public record ReservationMailView(
+        String customerName,
+        String reservationCode,
+        String date,
+        String time,
+        String guests,
+        String table,
+        String specialRequests,
+        String cancellationReason
+) implements MailModel {
+
+    public static ReservationMailView from(Reservation reservation) {
+        return new ReservationMailView(
+                reservation.getCustomerName(),
+                reservation.getReservationCode(),
+                String.valueOf(reservation.getReservationDate()),
+                String.valueOf(reservation.getReservationTime()),
+                String.valueOf(reservation.getNumberOfGuests()),
+                reservation.getTable().getTableName(),
+                reservation.getSpecialRequests() != null ? reservation.getSpecialRequests() : "None",
+                reservation.getCancellationReason() != null ? reservation.getCancellationReason() : "Not specified"
+        );
+    }
+
+    @Override
+    public String get(MailField field) {
+        return switch (field) {
+            case CUSTOMER_NAME -> customerName;
+            case RESERVATION_CODE -> reservationCode;
+            case DATE -> date;
+            case TIME -> time;
+            case GUESTS -> guests;
+            case TABLE -> table;
+            case SPECIAL_REQUESTS -> specialRequests;
+            case CANCELLATION_REASON -> cancellationReason;
+            default -> null;
+        };
+    }
+}
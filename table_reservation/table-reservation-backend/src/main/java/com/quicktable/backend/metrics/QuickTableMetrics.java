@@ -0,0 +1,170 @@
+package com.quicktable.backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Application meters, all under the {@code quicktable.} prefix so percentile histograms can be
+ * switched on for the whole family with {@code management.metrics.distribution.percentiles-histogram.quicktable}.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuickTableMetrics {
+
+    public static final String BOOKING_CREATED = "created";
+    public static final String BOOKING_CONFLICT = "conflict_rejected";
+    public static final String BOOKING_CAPACITY = "capacity_rejected";
+    public static final String BOOKING_ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void bookingCompleted(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("quicktable.reservations.create")
+                .description("Reservation creation, by outcome")
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    public void availabilitySearched(Timer.Sample sample, int resultSize) {
+        sample.stop(Timer.builder("quicktable.availability.search")
+                .description("Available-table searches")
+                .register(registry));
+        DistributionSummary.builder("quicktable.availability.results")
+                .description("Tables returned per availability search")
+                .register(registry)
+                .record(resultSize);
+    }
+
+    public void notificationSweepCompleted(Timer.Sample sample, int batchSize) {
+        sample.stop(Timer.builder("quicktable.notifications.sweep")
+                .description("Pending-notification sweep duration")
+                .register(registry));
+        DistributionSummary.builder("quicktable.notifications.batch")
+                .description("Due notifications picked up per sweep")
+                .register(registry)
+                .record(batchSize);
+    }
+
+    public void notificationSent(Duration lag) {
+        Timer.builder("quicktable.notifications.lag")
+                .description("Delay between a notification's scheduledFor and sentAt")
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void emailSent(Timer.Sample sample, String type, boolean success) {
+        sample.stop(Timer.builder("quicktable.email.send")
+                .description("SMTP send latency")
+                .tag("type", type)
+                .tag("outcome", success ? "sent" : "failed")
+                .register(registry));
+        if (!success) {
+            emailFailed(type, "send");
+        }
+    }
+
+    public void emailFailed(String type, String stage) {
+        Counter.builder("quicktable.email.failures")
+                .description("Emails that could not be queued or sent")
+                .tag("type", type)
+                .tag("stage", stage)
+                .register(registry)
+                .increment();
+    }
+
+    public void rateLimited(String policy) {
+        Counter.builder("quicktable.ratelimit.rejected")
+                .description("Requests rejected with 429 by the rate limiter")
+                .tag("policy", policy)
+                .register(registry)
+                .increment();
+    }
+
+    public void tableAllocated(boolean allocated, int tablesTried) {
+        DistributionSummary.builder("quicktable.allocator.tables.tried")
+                .description("Tables locked before the allocator found a free one (1 means no contention)")
+                .tag("outcome", allocated ? "allocated" : "none_free")
+                .register(registry)
+                .record(tablesTried);
+    }
+
+    public void slotHold(String outcome) {
+        Counter.builder("quicktable.holds")
+                .description("Slot holds by outcome (placed, rejected, converted, expired, released)")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void idempotentRequest(String outcome) {
+        Counter.builder("quicktable.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void loginBlocked(String scope) {
+        Counter.builder("quicktable.auth.login.blocked")
+                .description("Logins rejected by the brute-force guard before password hashing")
+                .tag("scope", scope)
+                .register(registry)
+                .increment();
+    }
+
+    public void jwtFilterCompleted(Timer.Sample sample, String result) {
+        sample.stop(Timer.builder("quicktable.security.jwt.filter")
+                .description("JWT authentication filter, excluding the rest of the chain")
+                .tag("result", result)
+                .register(registry));
+    }
+
+    public void reservationsArchived(Timer.Sample sample, int rows) {
+        sample.stop(Timer.builder("quicktable.archive.run")
+                .description("Reservation archival run duration")
+                .register(registry));
+        Counter.builder("quicktable.archive.rows")
+                .description("Finished reservations moved to reservations_archive")
+                .register(registry)
+                .increment(rows);
+    }
+
+    public void retentionPurged(Timer.Sample sample, String policy, String outcome, long rows) {
+        sample.stop(Timer.builder("quicktable.retention.run")
+                .description("Retention purge duration per policy, by outcome (completed, window_closed, failed)")
+                .tag("policy", policy)
+                .tag("outcome", outcome)
+                .register(registry));
+        Counter.builder("quicktable.retention.purged")
+                .description("Rows deleted by the retention purge")
+                .tag("policy", policy)
+                .register(registry)
+                .increment(rows);
+    }
+
+    public void jobRun(Timer.Sample sample, String job, String outcome) {
+        sample.stop(Timer.builder("quicktable.jobs.run")
+                .description("Scheduled job runs on this node, by outcome (completed, failed)")
+                .tag("job", job)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    public void jobSkipped(String job) {
+        Counter.builder("quicktable.jobs.skipped")
+                .description("Scheduled runs skipped because another node holds the job's lease")
+                .tag("job", job)
+                .register(registry)
+                .increment();
+    }
+}
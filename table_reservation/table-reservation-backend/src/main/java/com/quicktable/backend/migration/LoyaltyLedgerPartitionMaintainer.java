@@ -0,0 +1,48 @@
+package com.quicktable.backend.migration;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Creates the yearly {@code loyalty_ledger} partitions (see V1__baseline.sql) for this year and
+ * the next, at startup and daily after that, so entries don't pile up in
+ * {@code loyalty_ledger_default}. Does nothing unless {@code loyalty_ledger} is a partitioned
+ * Postgres table.
+ */
+public class LoyaltyLedgerPartitionMaintainer {
+
+    private final RangePartitions partitions;
+
+    public LoyaltyLedgerPartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.partitions = new RangePartitions(jdbcTemplate, transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Creates this year's and next year's partition if missing and returns how many were created.
+     */
+    @Scheduled(cron = "${app.partitions.cron:0 0 3 * * *}")
+    public int createUpcomingPartitions() {
+        if (!partitions.isPartitioned("loyalty_ledger")) {
+            return 0;
+        }
+        int created = 0;
+        for (int year = Year.now().getValue(); year <= Year.now().getValue() + 1; year++) {
+            if (partitions.createIfMissing("loyalty_ledger", "created_at", "loyalty_ledger_" + year,
+                    LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1))) {
+                created++;
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,72 @@
+package com.quicktable.backend.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+
+/**
+ * Creates range partitions of a Postgres table that has a {@code <table>_default} partition.
+ * Rows already sitting in the default partition for the new range are moved into the new
+ * partition before it is attached, all in one transaction.
+ */
+@Slf4j
+class RangePartitions {
+
+    private static final long ADVISORY_LOCK_KEY = 4_702_117_302L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    RangePartitions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    boolean isPartitioned(String table) {
+        String product = jdbcTemplate.execute(
+                (Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        Integer partitioned = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)",
+                Integer.class, table);
+        return partitioned != null && partitioned > 0;
+    }
+
+    /**
+     * Creates {@code partition} of {@code table} for {@code column} in [{@code from}, {@code to})
+     * unless it exists, and returns whether it did.
+     */
+    boolean createIfMissing(String table, String column, String partition, LocalDate from, LocalDate to) {
+        if (exists(partition)) {
+            return false;
+        }
+        Boolean created = transactionTemplate.execute(status -> {
+            // Nodes starting together would otherwise race to create the same partition
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(" + ADVISORY_LOCK_KEY + ")");
+            if (exists(partition)) {
+                return false;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + partition
+                    + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + table + "_default"
+                    + " WHERE " + column + " >= ? AND " + column + " < ? RETURNING *)"
+                    + " INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            log.info("Created partition {} ({} rows moved from the default partition)", partition, moved);
+            return true;
+        });
+        return Boolean.TRUE.equals(created);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
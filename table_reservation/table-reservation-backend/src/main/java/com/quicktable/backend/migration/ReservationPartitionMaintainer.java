@@ -0,0 +1,55 @@
+package com.quicktable.backend.migration;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+
+/**
+ * Creates the monthly {@code reservations} partitions {@code monthsAhead} months in advance (see
+ * V3__partition_reservations.sql), at startup and daily after that. Bookings made for a month
+ * without a partition land in {@code reservations_default}; creating the month moves them into
+ * the new partition before attaching it, all in one transaction. Does nothing unless
+ * {@code reservations} is a partitioned Postgres table.
+ */
+public class ReservationPartitionMaintainer {
+
+    private final RangePartitions partitions;
+    private final int monthsAhead;
+
+    public ReservationPartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                          int monthsAhead) {
+        this.partitions = new RangePartitions(jdbcTemplate, transactionManager);
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Creates any missing partition from this month to {@code monthsAhead} months out and returns
+     * how many were created.
+     */
+    @Scheduled(cron = "${app.partitions.cron:0 0 3 * * *}")
+    public int createUpcomingPartitions() {
+        if (!partitions.isPartitioned("reservations")) {
+            return 0;
+        }
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int month = 0; month <= monthsAhead; month++) {
+            YearMonth target = current.plusMonths(month);
+            String partition = String.format("reservations_p%d_%02d", target.getYear(), target.getMonthValue());
+            if (partitions.createIfMissing("reservations", "reservation_date", partition,
+                    target.atDay(1), target.plusMonths(1).atDay(1))) {
+                created++;
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,30 @@
+package com.quicktable.backend.ratelimit;
+
+/**
+ * Token bucket expressed as the generic cell rate algorithm: a bucket's whole state is one
+ * "theoretical arrival time" (TAT), so stores can update it with a single compare-and-set or
+ * row update. A request is admitted while the TAT stays within {@code burst} of now; each
+ * admitted request pushes it forward by one {@code emission} interval.
+ */
+final class Gcra {
+
+    private Gcra() {
+    }
+
+    record Result(RateLimitDecision decision, long newTat) {
+    }
+
+    /**
+     * @param tat      stored arrival time in epoch micros (0 for a new bucket)
+     * @param emission micros per token
+     * @param burst    capacity * emission
+     */
+    static Result evaluate(long tat, long now, long emission, long burst) {
+        long newTat = Math.max(tat, now) + emission;
+        long ahead = newTat - now;
+        if (ahead > burst) {
+            return new Result(new RateLimitDecision(false, 0, ahead - burst), tat);
+        }
+        return new Result(new RateLimitDecision(true, (burst - ahead) / emission, 0), newTat);
+    }
+}
@@ -0,0 +1,61 @@
+package com.quicktable.backend.ratelimit;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Buckets shared by every node through the {@code rate_limit_buckets} table. Each check locks
+ * one row for the length of a short transaction (select for update, then update), so the table
+ * stays correct under concurrent nodes at the price of a database round trip per limited request.
+ * Every statement runs in a transaction of its own, which also commits when the pool hands out
+ * connections with auto-commit off (as in prod).
+ */
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long emissionMicros, long burstMicros, long nowMicros) {
+        try {
+            return transactionTemplate.execute(status -> acquire(key, emissionMicros, burstMicros, nowMicros));
+        } catch (DuplicateKeyException e) {
+            // Another node created the bucket first; it exists now, so the retry takes the update path
+            return transactionTemplate.execute(status -> acquire(key, emissionMicros, burstMicros, nowMicros));
+        }
+    }
+
+    @Override
+    public void evictExpired(long nowMicros) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE tat_micros <= ?", nowMicros));
+    }
+
+    private RateLimitDecision acquire(String key, long emissionMicros, long burstMicros, long nowMicros) {
+        List<Long> stored = jdbcTemplate.queryForList(
+                "SELECT tat_micros FROM rate_limit_buckets WHERE bucket_key = ? FOR UPDATE", Long.class, key);
+
+        Gcra.Result result = Gcra.evaluate(stored.isEmpty() ? 0 : stored.get(0), nowMicros, emissionMicros, burstMicros);
+        if (result.decision().allowed()) {
+            if (stored.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO rate_limit_buckets (bucket_key, tat_micros) VALUES (?, ?)",
+                        key, result.newTat());
+            } else {
+                jdbcTemplate.update("UPDATE rate_limit_buckets SET tat_micros = ? WHERE bucket_key = ?",
+                        result.newTat(), key);
+            }
+        }
+        return result.decision();
+    }
+}
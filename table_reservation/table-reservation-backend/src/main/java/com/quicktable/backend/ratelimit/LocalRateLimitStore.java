@@ -0,0 +1,99 @@
+package com.quicktable.backend.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-free in-memory buckets: one {@link AtomicLong} TAT per key, updated by CAS. Memory is
+ * bounded by {@code maxKeys}: when full, refilled buckets are swept out first; if everything is
+ * still draining, the fullest buckets (earliest TAT) go, a tenth of the map at a time. Those
+ * callers lose least by starting over, and a flood of one-request keys evicts itself before it
+ * reaches a caller that has spent its burst. New keys are always admitted, so a flood can't lock
+ * everyone else out.
+ */
+@Slf4j
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private static final int EVICT_BATCH_DIVISOR = 10;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evicting = new ReentrantLock();
+    private final int maxKeys;
+
+    public LocalRateLimitStore(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long emissionMicros, long burstMicros, long nowMicros) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom(nowMicros);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong());
+        }
+
+        while (true) {
+            long current = tat.get();
+            Gcra.Result result = Gcra.evaluate(current, nowMicros, emissionMicros, burstMicros);
+            if (!result.decision().allowed() || tat.compareAndSet(current, result.newTat())) {
+                return result.decision();
+            }
+        }
+    }
+
+    @Override
+    public void evictExpired(long nowMicros) {
+        buckets.values().removeIf(tat -> tat.get() <= nowMicros);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // One thread evicts while the others carry on, so racing callers may overshoot maxKeys by a few entries
+    private void makeRoom(long nowMicros) {
+        if (!evicting.tryLock()) {
+            return;
+        }
+        try {
+            if (buckets.size() < maxKeys) {
+                return;
+            }
+            evictExpired(nowMicros);
+            int excess = buckets.size() - maxKeys;
+            if (excess >= 0) {
+                int evicted = evictFullest(excess + Math.max(1, maxKeys / EVICT_BATCH_DIVISOR));
+                log.warn("Rate limit store full ({} keys still draining), evicted the {} fullest buckets",
+                        maxKeys, evicted);
+            }
+        } finally {
+            evicting.unlock();
+        }
+    }
+
+    private int evictFullest(int count) {
+        record Ranked(String key, AtomicLong bucket, long tat) {
+        }
+        List<Ranked> ranked = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> ranked.add(new Ranked(key, bucket, bucket.get())));
+        ranked.sort(Comparator.comparingLong(Ranked::tat));
+
+        int evicted = 0;
+        for (Ranked entry : ranked.subList(0, Math.min(count, ranked.size()))) {
+            // Only the bucket that was ranked; one re-created for the key since then stays
+            if (buckets.remove(entry.key(), entry.bucket())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+}
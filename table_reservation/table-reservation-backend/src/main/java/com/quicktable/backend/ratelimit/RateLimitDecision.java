@@ -0,0 +1,4 @@
+package com.quicktable.backend.ratelimit;
+
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMicros) {
+}
@@ -0,0 +1,58 @@
+package com.quicktable.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quicktable.backend.dto.common.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects requests over their policy's rate with {@code 429} and {@code Retry-After}. Runs in the
+ * security chain after JWT authentication so {@code USER}-keyed policies can see who is calling;
+ * it is deliberately not a bean, so Boot does not also register it ahead of that chain.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Outcome outcome = rateLimiter.check(request);
+        if (outcome == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(outcome.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(outcome.decision().remaining()));
+        if (outcome.decision().allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (outcome.decision().retryAfterMicros() + 999_999) / 1_000_000);
+        log.debug("Rate limit '{}' exceeded by {} {} from {}", outcome.policy(), request.getMethod(),
+                request.getRequestURI(), request.getRemoteAddr());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, please try again in " + retryAfterSeconds + " seconds"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.quicktable.backend.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Where bucket state lives: in this JVM, or in a shared database table. */
+    private StoreType store = StoreType.LOCAL;
+
+    /** Upper bound on buckets held by the local store; beyond it the fullest buckets are evicted. */
+    private int maxKeys = 100_000;
+
+    /** Checked in order; the first policy matching the request applies. */
+    private List<Policy> policies = new ArrayList<>();
+
+    public enum StoreType {
+        LOCAL, JDBC
+    }
+
+    public enum KeyType {
+        /** One bucket per client address. */
+        IP,
+        /** One bucket per authenticated user, falling back to the client address. */
+        USER,
+        /** One bucket shared by every caller of the route. */
+        ROUTE
+    }
+
+    @Data
+    public static class Policy {
+
+        private String name;
+
+        /** HTTP method to match; any method when unset. */
+        private String method;
+
+        /** Ant-style path pattern, e.g. {@code /api/auth/**}. */
+        private String pattern;
+
+        private KeyType key = KeyType.IP;
+
+        /** Burst size: requests allowed back to back from a full bucket. */
+        private int capacity;
+
+        /** Tokens added per refill period. */
+        private int refillTokens;
+
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.quicktable.backend.ratelimit;
+
+/**
+ * Holds bucket state. {@link LocalRateLimitStore} keeps it in memory (single node, or as a
+ * stand-in); {@link JdbcRateLimitStore} shares it between nodes through the database.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket named {@code key}, creating it full if absent.
+     *
+     * @param emissionMicros time to earn one token
+     * @param burstMicros    capacity * emissionMicros
+     * @param nowMicros      wall-clock time in epoch micros
+     */
+    RateLimitDecision tryAcquire(String key, long emissionMicros, long burstMicros, long nowMicros);
+
+    /** Drops buckets that have refilled completely; they are indistinguishable from new ones. */
+    void evictExpired(long nowMicros);
+}
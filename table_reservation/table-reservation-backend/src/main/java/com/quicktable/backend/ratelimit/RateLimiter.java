@@ -0,0 +1,95 @@
+package com.quicktable.backend.ratelimit;
+
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.scheduling.NodeLocalJob;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Matches a request against the configured {@link RateLimitProperties.Policy policies} and
+ * charges the first match's bucket in the {@link RateLimitStore}.
+ */
+@Component
+public class RateLimiter {
+
+    private final List<CompiledPolicy> policies;
+    private final RateLimitStore store;
+    private final QuickTableMetrics metrics;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties, RateLimitStore store, QuickTableMetrics metrics) {
+        this.policies = properties.getPolicies().stream().map(CompiledPolicy::of).toList();
+        this.store = store;
+        this.metrics = metrics;
+    }
+
+    public record Outcome(String policy, int limit, RateLimitDecision decision) {
+    }
+
+    private record CompiledPolicy(RateLimitProperties.Policy policy, long emissionMicros, long burstMicros) {
+
+        static CompiledPolicy of(RateLimitProperties.Policy policy) {
+            if (!StringUtils.hasText(policy.getName()) || !StringUtils.hasText(policy.getPattern())
+                    || policy.getCapacity() <= 0 || policy.getRefillTokens() <= 0
+                    || policy.getRefillPeriod() == null || policy.getRefillPeriod().isNegative()
+                    || policy.getRefillPeriod().isZero()) {
+                throw new IllegalStateException("Invalid rate limit policy: " + policy);
+            }
+            long emission = Math.max(1, policy.getRefillPeriod().toNanos() / 1000 / policy.getRefillTokens());
+            return new CompiledPolicy(policy, emission, emission * policy.getCapacity());
+        }
+    }
+
+    /**
+     * @return the outcome for the matching policy, or {@code null} when no policy applies
+     */
+    public Outcome check(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (CompiledPolicy compiled : policies) {
+            RateLimitProperties.Policy policy = compiled.policy();
+            if (policy.getMethod() != null && !policy.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (!pathMatcher.match(policy.getPattern(), path)) {
+                continue;
+            }
+
+            String key = policy.getName() + ":" + resolveKey(policy.getKey(), request);
+            RateLimitDecision decision = store.tryAcquire(key, compiled.emissionMicros(), compiled.burstMicros(),
+                    System.currentTimeMillis() * 1000);
+            if (!decision.allowed()) {
+                metrics.rateLimited(policy.getName());
+            }
+            return new Outcome(policy.getName(), policy.getCapacity(), decision);
+        }
+        return null;
+    }
+
+    @NodeLocalJob
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        store.evictExpired(System.currentTimeMillis() * 1000);
+    }
+
+    private String resolveKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        return switch (keyType) {
+            case ROUTE -> "*";
+            case USER -> {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication != null && authentication.getPrincipal() instanceof User user) {
+                    yield "user-" + user.getId();
+                }
+                yield request.getRemoteAddr();
+            }
+            case IP -> request.getRemoteAddr();
+        };
+    }
+}
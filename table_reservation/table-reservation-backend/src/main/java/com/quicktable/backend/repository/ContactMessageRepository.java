@@ -4,6 +4,9 @@ import com.quicktable.backend.entity.ContactMessage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,4 +25,13 @@ public interface ContactMessageRepository extends JpaRepository<ContactMessage,
     Long countByReadFalse();
 
     Long countByRepliedFalse();
+
+    // Only one of two racing requests sees 1, so the unread counter is adjusted once
+    @Modifying
+    @Query("UPDATE ContactMessage m SET m.read = true WHERE m.id = :id AND m.read = false")
+    int markReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM ContactMessage m WHERE m.id = :id AND m.read = false")
+    int deleteIfUnread(@Param("id") Long id);
 }
@@ -0,0 +1,54 @@
+package com.quicktable.backend.repository;
+
+import com.quicktable.backend.entity.LoyaltyTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LoyaltyTransactionRepository extends JpaRepository<LoyaltyTransaction, Long> {
+
+    Page<LoyaltyTransaction> findByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(l.points), 0) FROM LoyaltyTransaction l " +
+            "WHERE l.userId = :userId AND l.id > :offset")
+    Long sumPointsAfter(@Param("userId") Long userId, @Param("offset") Long offset);
+
+    @Query("SELECT MIN(l.id) FROM LoyaltyTransaction l WHERE l.createdAt >= :since")
+    Long findFirstIdSince(@Param("since") LocalDateTime since);
+
+    // Ledger entries below the watermark not yet folded into the user's snapshot, aggregated per user
+    @Query("SELECT l.userId AS userId, SUM(l.points) AS points, MAX(l.id) AS lastEntryId, " +
+            "u.loyaltyPoints AS currentPoints, COALESCE(u.loyaltyLedgerOffset, 0) AS currentOffset " +
+            "FROM LoyaltyTransaction l, User u " +
+            "WHERE u.id = l.userId AND l.id > COALESCE(u.loyaltyLedgerOffset, 0) AND l.id < :watermark " +
+            "GROUP BY l.userId, u.loyaltyPoints, u.loyaltyLedgerOffset")
+    List<PendingLoyaltyDelta> findPendingDeltas(@Param("watermark") Long watermark, Pageable pageable);
+
+    // Users holding points with no ledger activity and no visit since the cutoff, in id order after afterId
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.loyaltyPoints > 0 " +
+            "AND COALESCE(u.lastVisit, u.createdAt) < :cutoff " +
+            "AND NOT EXISTS (SELECT l.id FROM LoyaltyTransaction l " +
+            "WHERE l.userId = u.id AND l.createdAt >= :cutoff) " +
+            "ORDER BY u.id")
+    List<Long> findInactiveUserIdsWithPoints(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    interface PendingLoyaltyDelta {
+        Long getUserId();
+
+        Long getPoints();
+
+        Long getLastEntryId();
+
+        Integer getCurrentPoints();
+
+        Long getCurrentOffset();
+    }
+}
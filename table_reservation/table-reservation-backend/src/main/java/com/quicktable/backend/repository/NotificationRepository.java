@@ -1,14 +1,17 @@
 package com.quicktable.backend.repository;
 
 import com.quicktable.backend.entity.Notification;
+import com.quicktable.backend.entity.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,4 +29,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndSentFalse(Long userId);
 
     Long countByUserIdAndSentFalse(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.reservation.id = :reservationId AND n.sent = false " +
+            "AND n.type IN :types")
+    int deleteUnsentReminders(@Param("reservationId") Long reservationId,
+                              @Param("types") Collection<NotificationType> types);
 }
@@ -27,6 +27,10 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     Page<Reservation> findByUserIdAndStatus(Long userId, ReservationStatus status, Pageable pageable);
 
+    boolean existsByTableId(Long tableId);
+
+    boolean existsByJoinedTablesId(Long tableId);
+
     List<Reservation> findByReservationDate(LocalDate date);
 
     List<Reservation> findByReservationDateAndStatus(LocalDate date, ReservationStatus status);
@@ -36,15 +40,69 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findActiveReservationsByTableAndDate(@Param("tableId") Long tableId,
                                                             @Param("date") LocalDate date);
 
-    @Query("SELECT r FROM Reservation r WHERE r.table.id = :tableId AND r.reservationDate = :date " +
-            "AND r.reservationTime = :time AND r.status IN ('PENDING', 'CONFIRMED')")
-    List<Reservation> findConflictingReservations(@Param("tableId") Long tableId,
-                                                   @Param("date") LocalDate date,
-                                                   @Param("time") LocalTime time);
+    /** Bookings are assumed to last two hours; two on one table must start further apart than this. */
+    int SLOT_MINUTES = 120;
+
+    /**
+     * Whether the table, as a booking's own table or joined to it, has an active booking whose
+     * two-hour slot overlaps one starting at {@code time}. This is the double-booking rule;
+     * {@link #overlaps} is the same rule for start times already in memory.
+     */
+    default boolean isTableBooked(Long tableId, LocalDate date, LocalTime time) {
+        return existsActiveBetween(tableId, date, overlapWindowStart(time), overlapWindowEnd(time));
+    }
+
+    static boolean overlaps(LocalTime a, LocalTime b) {
+        return Math.abs(a.toSecondOfDay() - b.toSecondOfDay()) < SLOT_MINUTES * 60;
+    }
+
+    /** Earliest start that would overlap a booking at {@code time}, clamped to the same day. */
+    static LocalTime overlapWindowStart(LocalTime time) {
+        int seconds = time.toSecondOfDay() - SLOT_MINUTES * 60 + 1;
+        return seconds <= 0 ? LocalTime.MIN : LocalTime.ofSecondOfDay(seconds);
+    }
+
+    /** Latest start that would overlap a booking at {@code time}, clamped to the same day. */
+    static LocalTime overlapWindowEnd(LocalTime time) {
+        int seconds = time.toSecondOfDay() + SLOT_MINUTES * 60 - 1;
+        return seconds >= LocalTime.MAX.toSecondOfDay() ? LocalTime.MAX : LocalTime.ofSecondOfDay(seconds);
+    }
 
     @Query("SELECT r FROM Reservation r WHERE r.reservationDate = :date AND r.status IN ('PENDING', 'CONFIRMED')")
     List<Reservation> findActiveReservationsByDate(@Param("date") LocalDate date);
 
+    // Table and start time of every active booking on the date, without loading the entities
+    @Query("SELECT r.table.id AS tableId, r.reservationTime AS reservationTime FROM Reservation r " +
+            "WHERE r.reservationDate = :date AND r.status IN ('PENDING', 'CONFIRMED')")
+    List<BookedSlot> findBookedSlots(@Param("date") LocalDate date);
+
+    // Same for the extra tables of combined bookings
+    @Query("SELECT jt.id AS tableId, r.reservationTime AS reservationTime FROM Reservation r JOIN r.joinedTables jt " +
+            "WHERE r.reservationDate = :date AND r.status IN ('PENDING', 'CONFIRMED')")
+    List<BookedSlot> findJoinedBookedSlots(@Param("date") LocalDate date);
+
+    // Table, date and start time of every active booking in the range, primary tables first
+    @Query("SELECT r.table.id AS tableId, r.reservationDate AS reservationDate, r.reservationTime AS reservationTime " +
+            "FROM Reservation r WHERE r.reservationDate BETWEEN :startDate AND :endDate " +
+            "AND r.status IN ('PENDING', 'CONFIRMED')")
+    List<DatedSlot> findBookedSlotsBetween(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT jt.id AS tableId, r.reservationDate AS reservationDate, r.reservationTime AS reservationTime " +
+            "FROM Reservation r JOIN r.joinedTables jt WHERE r.reservationDate BETWEEN :startDate AND :endDate " +
+            "AND r.status IN ('PENDING', 'CONFIRMED')")
+    List<DatedSlot> findJoinedBookedSlotsBetween(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.reservationDate = :date " +
+            "AND r.reservationTime BETWEEN :from AND :to AND r.status IN ('PENDING', 'CONFIRMED') " +
+            "AND (r.table.id = :tableId OR r.id IN (" +
+            "  SELECT j.id FROM Reservation j JOIN j.joinedTables jt WHERE jt.id = :tableId))")
+    boolean existsActiveBetween(@Param("tableId") Long tableId,
+                                @Param("date") LocalDate date,
+                                @Param("from") LocalTime from,
+                                @Param("to") LocalTime to);
+
     @Query("SELECT r FROM Reservation r WHERE " +
             "(LOWER(r.customerName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(r.customerEmail) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -83,4 +141,32 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r WHERE r.reservationDate = :date AND r.reservationTime = :time " +
             "AND r.reminderSent2h = false AND r.status IN ('PENDING', 'CONFIRMED')")
     List<Reservation> findReservationsFor2hReminder(@Param("date") LocalDate date, @Param("time") LocalTime time);
+
+    // Active bookings starting after (fromDate, fromTime) and at or before (toDate, toTime), still
+    // waiting for that reminder; the window is at most a day, so it spans one date boundary at most
+    @Query("SELECT r FROM Reservation r WHERE r.reminderSent24h = false AND r.status IN ('PENDING', 'CONFIRMED') " +
+            "AND (r.reservationDate > :fromDate OR (r.reservationDate = :fromDate AND r.reservationTime > :fromTime)) " +
+            "AND (r.reservationDate < :toDate OR (r.reservationDate = :toDate AND r.reservationTime <= :toTime))")
+    List<Reservation> findReservationsDueFor24hReminder(@Param("fromDate") LocalDate fromDate,
+                                                        @Param("fromTime") LocalTime fromTime,
+                                                        @Param("toDate") LocalDate toDate,
+                                                        @Param("toTime") LocalTime toTime);
+
+    @Query("SELECT r FROM Reservation r WHERE r.reminderSent2h = false AND r.status IN ('PENDING', 'CONFIRMED') " +
+            "AND (r.reservationDate > :fromDate OR (r.reservationDate = :fromDate AND r.reservationTime > :fromTime)) " +
+            "AND (r.reservationDate < :toDate OR (r.reservationDate = :toDate AND r.reservationTime <= :toTime))")
+    List<Reservation> findReservationsDueFor2hReminder(@Param("fromDate") LocalDate fromDate,
+                                                       @Param("fromTime") LocalTime fromTime,
+                                                       @Param("toDate") LocalDate toDate,
+                                                       @Param("toTime") LocalTime toTime);
+
+    interface BookedSlot {
+        Long getTableId();
+
+        LocalTime getReservationTime();
+    }
+
+    interface DatedSlot extends BookedSlot {
+        LocalDate getReservationDate();
+    }
 }
@@ -3,7 +3,9 @@ package com.quicktable.backend.repository;
 import com.quicktable.backend.entity.RestaurantTable;
 import com.quicktable.backend.entity.TableLocation;
 import com.quicktable.backend.entity.TableStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,12 +34,22 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
             "  WHERE r.reservationDate = :date " +
             "  AND r.reservationTime BETWEEN :startTime AND :endTime " +
             "  AND r.status IN ('PENDING', 'CONFIRMED')" +
+            ") AND t.id NOT IN (" +
+            "  SELECT jt.id FROM Reservation r JOIN r.joinedTables jt " +
+            "  WHERE r.reservationDate = :date " +
+            "  AND r.reservationTime BETWEEN :startTime AND :endTime " +
+            "  AND r.status IN ('PENDING', 'CONFIRMED')" +
             ")")
     List<RestaurantTable> findAvailableTables(@Param("date") LocalDate date,
                                                @Param("startTime") LocalTime startTime,
                                                @Param("endTime") LocalTime endTime,
                                                @Param("guests") Integer guests);
 
+    // Booking lock: concurrent bookings of one table serialize on its row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RestaurantTable t WHERE t.id = :id")
+    Optional<RestaurantTable> findByIdForUpdate(@Param("id") Long id);
+
     @Query("SELECT COUNT(t) FROM RestaurantTable t WHERE t.status = :status")
     Long countByStatus(@Param("status") TableStatus status);
 
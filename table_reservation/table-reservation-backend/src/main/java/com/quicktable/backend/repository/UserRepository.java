@@ -1,10 +1,14 @@
 package com.quicktable.backend.repository;
 
+import com.quicktable.backend.entity.LoyaltyTier;
 import com.quicktable.backend.entity.Role;
 import com.quicktable.backend.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -39,4 +43,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") Role role);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    // Guarded by the previous offset so a concurrent recompute cannot apply the same entries twice
+    @Modifying
+    @Query("UPDATE User u SET u.loyaltyPoints = :points, u.loyaltyTier = :tier, " +
+            "u.loyaltyLedgerOffset = :newOffset " +
+            "WHERE u.id = :userId AND COALESCE(u.loyaltyLedgerOffset, 0) = :expectedOffset")
+    int applyLoyaltySnapshot(@Param("userId") Long userId,
+                             @Param("points") Integer points,
+                             @Param("tier") LoyaltyTier tier,
+                             @Param("newOffset") Long newOffset,
+                             @Param("expectedOffset") Long expectedOffset);
 }
@@ -0,0 +1,42 @@
+package com.quicktable.backend.retention;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.retention")
+public class RetentionProperties {
+
+    private boolean enabled = true;
+
+    /** When a purge run starts; pick a quiet hour. */
+    private String cron = "0 0 4 * * *";
+
+    /** A run starts no new batch after this long; what is left waits for the next run. */
+    private Duration window = Duration.ofHours(1);
+
+    /** Width of the id range removed by one delete statement. */
+    private int batchSize = 1000;
+
+    /** Pause between batches, so other writers get their turn on the table. */
+    private Duration batchPause = Duration.ofMillis(100);
+
+    /** A batch that takes longer than this (e.g. waiting on row locks) is abandoned with its run. */
+    private Duration statementTimeout = Duration.ofSeconds(5);
+
+    /** One entry per purged entity; entities without a policy are kept forever. */
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+
+        private RetentionTarget target;
+
+        /** Rows created longer ago than this are purged. */
+        private Duration maxAge;
+    }
+}
@@ -0,0 +1,118 @@
+package com.quicktable.backend.retention;
+
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes rows past their retention age, one policy at a time, in id ranges of
+ * {@code batchSize}. Every range is one statement committed in a transaction of its own (the prod
+ * pool runs with auto-commit off), so row locks are held for that statement only and concurrent
+ * inserts (which get higher ids) never wait on it; a range that
+ * can't be deleted within {@code statementTimeout} ends the run instead of queueing behind
+ * other work. Ids grow with {@code created_at}, so the scan stops at the newest expired row.
+ */
+@Slf4j
+public class RetentionPurger {
+
+    static final String COMPLETED = "completed";
+    static final String WINDOW_CLOSED = "window_closed";
+    static final String FAILED = "failed";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+    private final QuickTableMetrics metrics;
+
+    public RetentionPurger(DataSource dataSource, PlatformTransactionManager transactionManager,
+                           RetentionProperties properties, QuickTableMetrics metrics) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.getStatementTimeout().toSeconds()));
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 0 4 * * *}")
+    public void purgeExpired() {
+        Instant deadline = Instant.now().plus(properties.getWindow());
+        for (RetentionProperties.Policy policy : properties.getPolicies()) {
+            purge(policy.getTarget(), LocalDateTime.now().minus(policy.getMaxAge()), deadline);
+        }
+    }
+
+    /**
+     * Deletes the purgeable rows of {@code target} created before {@code cutoff}, starting no
+     * batch after {@code deadline}, and returns how many were deleted.
+     */
+    public long purge(RetentionTarget target, LocalDateTime cutoff, Instant deadline) {
+        Timer.Sample sample = metrics.start();
+        String table = target.table();
+        long deleted = 0;
+        String outcome = COMPLETED;
+        try {
+            Long first = jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table, Long.class);
+            List<Long> newestExpired = jdbcTemplate.queryForList("SELECT id FROM " + table
+                    + " WHERE created_at < ? ORDER BY created_at DESC LIMIT 1", Long.class, cutoff);
+            if (first != null && !newestExpired.isEmpty()) {
+                long last = newestExpired.get(0);
+                String delete = "DELETE FROM " + table + " WHERE id >= :from AND id < :to AND created_at < :cutoff"
+                        + " AND (" + target.purgeable() + ")";
+                for (long from = first; from <= last; from += properties.getBatchSize()) {
+                    if (Instant.now().isAfter(deadline)) {
+                        outcome = WINDOW_CLOSED;
+                        break;
+                    }
+                    MapSqlParameterSource params = new MapSqlParameterSource()
+                            .addValue("from", from)
+                            .addValue("to", from + properties.getBatchSize())
+                            .addValue("cutoff", cutoff);
+                    Integer batch = transactionTemplate.execute(status -> namedJdbcTemplate.update(delete, params));
+                    deleted += batch != null ? batch : 0;
+                    if (!pause()) {
+                        outcome = WINDOW_CLOSED;
+                        break;
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            outcome = FAILED;
+            log.warn("Retention purge of {} stopped after {} rows: {}", table, deleted, e.getMessage());
+        }
+
+        metrics.retentionPurged(sample, target.name().toLowerCase(), outcome, deleted);
+        if (deleted > 0) {
+            log.info("Purged {} rows from {} created before {} ({})", deleted, table, cutoff, outcome);
+        }
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (properties.getBatchPause().isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getBatchPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
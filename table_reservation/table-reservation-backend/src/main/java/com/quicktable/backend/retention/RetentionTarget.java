@@ -0,0 +1,33 @@
+package com.quicktable.backend.retention;
+
+/**
+ * Tables the retention purge can clean up, with the rows it must always keep.
+ */
+public enum RetentionTarget {
+
+    /**
+     * Reminders and other notices, once sent. An unsent one is kept until the time it was scheduled
+     * for is past the cutoff too: by then it will never go out.
+     */
+    NOTIFICATIONS("notifications", "sent = TRUE OR scheduled_for < :cutoff"),
+
+    /** Contact messages, once an admin has read them; unread ones stay in the inbox. */
+    CONTACT_MESSAGES("contact_messages", "read = TRUE");
+
+    private final String table;
+    private final String purgeable;
+
+    RetentionTarget(String table, String purgeable) {
+        this.table = table;
+        this.purgeable = purgeable;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /** SQL condition a row must also meet to be purged; {@code :cutoff} is the purge cutoff. */
+    public String purgeable() {
+        return purgeable;
+    }
+}
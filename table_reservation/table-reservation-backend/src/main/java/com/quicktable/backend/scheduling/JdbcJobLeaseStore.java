@@ -0,0 +1,81 @@
+package com.quicktable.backend.scheduling;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Job leases in the {@code job_leases} table, one row per job. Taking a lease is a conditional
+ * update (free, expired or already ours), or an insert the first time a job is seen, so the
+ * database decides between nodes racing for it. Each write commits in a transaction of its own,
+ * also when the pool hands out connections with auto-commit off (as in prod), and never joins the
+ * transaction of the job it guards.
+ */
+public class JdbcJobLeaseStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcJobLeaseStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes or extends the lease on {@code job} for {@code owner} and returns whether it now
+     * holds it.
+     */
+    public boolean tryAcquire(String job, String owner, long nowMillis, long expiresAtMillis) {
+        int taken = update(
+                "UPDATE job_leases SET owner = ?, expires_at = ? WHERE job_name = ? AND (owner = ? OR expires_at <= ?)",
+                owner, expiresAtMillis, job, owner, nowMillis);
+        if (taken == 1) {
+            return true;
+        }
+        try {
+            update("INSERT INTO job_leases (job_name, owner, expires_at) VALUES (?, ?, ?)",
+                    job, owner, expiresAtMillis);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Held by another node
+            return false;
+        }
+    }
+
+    /** Extends every lease {@code owner} still holds and returns how many that was. */
+    public int renew(String owner, long nowMillis, long expiresAtMillis) {
+        return update("UPDATE job_leases SET expires_at = ? WHERE owner = ? AND expires_at > ?",
+                expiresAtMillis, owner, nowMillis);
+    }
+
+    /** Gives up every lease {@code owner} holds; the rows stay for their run history. */
+    public void release(String owner, long nowMillis) {
+        update("UPDATE job_leases SET expires_at = ? WHERE owner = ? AND expires_at > ?",
+                nowMillis, owner, nowMillis);
+    }
+
+    public void recordRun(String job, String owner, long startedAtMillis, long finishedAtMillis, String outcome) {
+        update("""
+                        UPDATE job_leases SET last_run_by = ?, last_started_at = ?, last_finished_at = ?, last_outcome = ?
+                        WHERE job_name = ?""",
+                owner, startedAtMillis, finishedAtMillis, outcome, job);
+    }
+
+    public List<JobLease> findAll() {
+        return jdbcTemplate.query("""
+                        SELECT job_name, owner, expires_at, last_run_by, last_started_at, last_finished_at, last_outcome
+                        FROM job_leases ORDER BY job_name""",
+                (rs, rowNum) -> new JobLease(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                        rs.getObject(5, Long.class), rs.getObject(6, Long.class), rs.getString(7)));
+    }
+
+    private int update(String sql, Object... args) {
+        Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+        return rows != null ? rows : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.quicktable.backend.scheduling;
+
+/**
+ * One row of {@code job_leases}: who holds the job and until when, and how its last run went.
+ * Times are epoch milliseconds; the {@code last*} fields are null until the job has run once.
+ */
+public record JobLease(String jobName, String owner, long expiresAtMillis, String lastRunBy,
+                       Long lastStartedAtMillis, Long lastFinishedAtMillis, String lastOutcome) {
+
+    public boolean isHeld(long nowMillis) {
+        return expiresAtMillis > nowMillis;
+    }
+}
@@ -0,0 +1,227 @@
+package com.quicktable.backend.scheduling;
+
+import com.quicktable.backend.dto.job.JobStatusDTO;
+import com.quicktable.backend.dto.job.JobsOverviewDTO;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs each {@code @Scheduled} job on one node of the cluster at a time. Before a run the node
+ * takes (or extends) the job's lease in {@code job_leases}; if another node holds it, the run is
+ * skipped. Leases are kept between runs and extended every {@code heartbeatInterval} from a
+ * thread of their own, so a long run stays covered and the job stays on the same node. A node
+ * that stops heartbeating loses its jobs after {@code leaseTtl}; one that shuts down cleanly
+ * releases them at once. Jobs marked {@link NodeLocalJob} skip the lease and run everywhere.
+ * Only runs started by the scheduler go through here, not direct calls to the same methods.
+ * Expiry is compared against each node's clock, so clocks must agree to well within the TTL.
+ */
+@Slf4j
+public class JobLeaseManager implements AutoCloseable {
+
+    static final String COMPLETED = "completed";
+    static final String FAILED = "failed";
+
+    private record LocalRun(long startedAtMillis, long finishedAtMillis, String outcome) {
+    }
+
+    private final JdbcJobLeaseStore store;
+    private final JobLeaseProperties properties;
+    private final QuickTableMetrics metrics;
+    private final String nodeId;
+
+    // Job name -> whether it runs on every node
+    private final Map<String, Boolean> jobs = new ConcurrentHashMap<>();
+    private final Map<String, LocalRun> localRuns = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heartbeat;
+
+    public JobLeaseManager(JdbcJobLeaseStore store, JobLeaseProperties properties, QuickTableMetrics metrics) {
+        this.store = store;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.nodeId = StringUtils.hasText(properties.getNodeId()) ? properties.getNodeId() : defaultNodeId();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void start() {
+        if (!properties.isLeasesEnabled()) {
+            return;
+        }
+        long intervalMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Scheduled jobs lease as node {}", nodeId);
+    }
+
+    @Override
+    public void close() {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        try {
+            store.release(nodeId, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Could not release the job leases of node {}; they expire on their own", nodeId, e);
+        }
+    }
+
+    /** Wraps a task handed to the scheduler so its runs go through {@link #run}. */
+    public Runnable decorate(Runnable task) {
+        if (!(task instanceof ScheduledMethodRunnable scheduled)) {
+            return task;
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(scheduled.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(scheduled.getMethod(), targetClass);
+        String job = targetClass.getSimpleName() + "." + method.getName();
+        boolean nodeLocal = !properties.isLeasesEnabled()
+                || AnnotatedElementUtils.hasAnnotation(method, NodeLocalJob.class);
+        jobs.put(job, nodeLocal);
+        return () -> run(job, nodeLocal, task);
+    }
+
+    /**
+     * Runs {@code task} if {@code job} is node-local or this node holds (or can take) its lease,
+     * and records how the run went.
+     */
+    public void run(String job, boolean nodeLocal, Runnable task) {
+        if (!nodeLocal && !acquire(job)) {
+            metrics.jobSkipped(job);
+            return;
+        }
+        Timer.Sample sample = metrics.start();
+        long startedAt = System.currentTimeMillis();
+        String outcome = FAILED;
+        try {
+            task.run();
+            outcome = COMPLETED;
+        } finally {
+            metrics.jobRun(sample, job, outcome);
+            recordRun(job, nodeLocal, startedAt, System.currentTimeMillis(), outcome);
+        }
+    }
+
+    public JobsOverviewDTO overview() {
+        long now = System.currentTimeMillis();
+        Map<String, JobLease> leases = properties.isLeasesEnabled()
+                ? store.findAll().stream().collect(Collectors.toMap(JobLease::jobName, Function.identity()))
+                : Map.of();
+
+        Set<String> names = new TreeSet<>(jobs.keySet());
+        names.addAll(leases.keySet());
+        List<JobStatusDTO> statuses = new ArrayList<>();
+        for (String name : names) {
+            LocalRun localRun = localRuns.get(name);
+            if (Boolean.TRUE.equals(jobs.get(name))) {
+                statuses.add(JobStatusDTO.builder()
+                        .name(name)
+                        .scope(JobStatusDTO.Scope.NODE)
+                        .lastRunBy(localRun != null ? nodeId : null)
+                        .lastStartedAt(localRun != null ? toDateTime(localRun.startedAtMillis()) : null)
+                        .lastFinishedAt(localRun != null ? toDateTime(localRun.finishedAtMillis()) : null)
+                        .lastDurationMs(localRun != null ? localRun.finishedAtMillis() - localRun.startedAtMillis() : null)
+                        .lastOutcome(localRun != null ? localRun.outcome() : null)
+                        .build());
+                continue;
+            }
+            JobLease lease = leases.get(name);
+            JobStatusDTO.JobStatusDTOBuilder status = JobStatusDTO.builder()
+                    .name(name)
+                    .scope(JobStatusDTO.Scope.CLUSTER);
+            if (lease != null) {
+                status.leaseOwner(lease.isHeld(now) ? lease.owner() : null)
+                        .leaseExpiresAt(lease.isHeld(now) ? toDateTime(lease.expiresAtMillis()) : null)
+                        .lastRunBy(lease.lastRunBy())
+                        .lastStartedAt(toDateTime(lease.lastStartedAtMillis()))
+                        .lastFinishedAt(toDateTime(lease.lastFinishedAtMillis()))
+                        .lastDurationMs(lease.lastStartedAtMillis() != null && lease.lastFinishedAtMillis() != null
+                                ? lease.lastFinishedAtMillis() - lease.lastStartedAtMillis() : null)
+                        .lastOutcome(lease.lastOutcome());
+            }
+            statuses.add(status.build());
+        }
+        return JobsOverviewDTO.builder()
+                .node(nodeId)
+                .leasesEnabled(properties.isLeasesEnabled())
+                .jobs(statuses)
+                .build();
+    }
+
+    private boolean acquire(String job) {
+        long now = System.currentTimeMillis();
+        try {
+            return store.tryAcquire(job, nodeId, now, now + properties.getLeaseTtl().toMillis());
+        } catch (RuntimeException e) {
+            // Without the lease table nobody can tell who runs the job, so nobody does
+            log.warn("Could not take the lease on {}; skipping this run", job, e);
+            return false;
+        }
+    }
+
+    private void recordRun(String job, boolean nodeLocal, long startedAt, long finishedAt, String outcome) {
+        if (nodeLocal) {
+            localRuns.put(job, new LocalRun(startedAt, finishedAt, outcome));
+            return;
+        }
+        try {
+            store.recordRun(job, nodeId, startedAt, finishedAt, outcome);
+        } catch (RuntimeException e) {
+            log.warn("Could not record the run of {}", job, e);
+        }
+    }
+
+    private void heartbeat() {
+        // An exception here would cancel every later heartbeat
+        try {
+            long now = System.currentTimeMillis();
+            store.renew(nodeId, now, now + properties.getLeaseTtl().toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the job leases of node {}", nodeId, e);
+        }
+    }
+
+    private static LocalDateTime toDateTime(Long epochMillis) {
+        return epochMillis != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()) : null;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        // The suffix keeps two instances on one host (or one JVM) apart
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,23 @@
+package com.quicktable.backend.scheduling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.jobs")
+public class JobLeaseProperties {
+
+    /** When off, every node runs every scheduled job (single-node deployments). */
+    private boolean leasesEnabled = true;
+
+    /** How long a lease outlives its last heartbeat; another node takes the job over after that. */
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    /** How often a node extends the leases it holds; keep it well under lease-ttl. */
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+    /** Name this node takes leases under; defaults to the host name plus a random suffix. */
+    private String nodeId;
+}
@@ -0,0 +1,59 @@
+package com.quicktable.backend.scheduling;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Hands every task to the scheduler Spring would have used, after wrapping it in
+ * {@link JobLeaseManager#decorate}.
+ */
+public class LeasingTaskScheduler implements TaskScheduler {
+
+    private final TaskScheduler delegate;
+    private final JobLeaseManager jobLeaseManager;
+
+    public LeasingTaskScheduler(TaskScheduler delegate, JobLeaseManager jobLeaseManager) {
+        this.delegate = delegate;
+        this.jobLeaseManager = jobLeaseManager;
+    }
+
+    @Override
+    public Clock getClock() {
+        return delegate.getClock();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return delegate.schedule(jobLeaseManager.decorate(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return delegate.schedule(jobLeaseManager.decorate(task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return delegate.scheduleAtFixedRate(jobLeaseManager.decorate(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return delegate.scheduleAtFixedRate(jobLeaseManager.decorate(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return delegate.scheduleWithFixedDelay(jobLeaseManager.decorate(task), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return delegate.scheduleWithFixedDelay(jobLeaseManager.decorate(task), delay);
+    }
+}
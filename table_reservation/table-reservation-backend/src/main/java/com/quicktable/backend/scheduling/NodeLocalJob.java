@@ -0,0 +1,17 @@
+package com.quicktable.backend.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @Scheduled} method that works on this node's own memory (caches, buffers,
+ * in-process stores), so it runs on every node instead of only on the lease holder.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NodeLocalJob {
+}
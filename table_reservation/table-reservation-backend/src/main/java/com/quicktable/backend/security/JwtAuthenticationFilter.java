@@ -1,5 +1,7 @@
 package com.quicktable.backend.security;
 
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,14 +27,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final QuickTableMetrics metrics;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = metrics.start();
+        String result = "anonymous";
         try {
             String jwt = getJwtFromRequest(request);
 
+            if (StringUtils.hasText(jwt)) {
+                result = "invalid";
+            }
+
             if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
                 String email = jwtTokenProvider.getEmailFromToken(jwt);
 
@@ -48,9 +57,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                result = "authenticated";
             }
         } catch (Exception ex) {
+            result = "error";
             log.error("Could not set user authentication in security context", ex);
+        } finally {
+            metrics.jwtFilterCompleted(sample, result);
         }
 
         filterChain.doFilter(request, response);
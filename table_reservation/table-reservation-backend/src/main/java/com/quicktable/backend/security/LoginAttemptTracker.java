@@ -0,0 +1,140 @@
+package com.quicktable.backend.security;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Failed-login counters over a sliding window, one per key (an email or a client address).
+ * Keys are spread over lock stripes, each an access-ordered map capped at
+ * {@code maxKeys / stripes} entries, so memory stays bounded however many keys an attacker
+ * cycles through; the least recently seen keys are forgotten first.
+ * <p>
+ * Each counter is a ring of per-slot counts covering the window. When the total reaches
+ * {@code maxFailures} the key is locked, and every further lockout doubles the previous one
+ * up to {@code maxLockoutMillis}; the doubling starts over once a key stays quiet for a window.
+ */
+public class LoginAttemptTracker {
+
+    private static final int SLOTS = 16;
+
+    private final int maxFailures;
+    private final long windowMillis;
+    private final long slotMillis;
+    private final long baseLockoutMillis;
+    private final long maxLockoutMillis;
+    private final Stripe[] stripes;
+
+    public LoginAttemptTracker(int maxFailures, long windowMillis, long baseLockoutMillis,
+                               long maxLockoutMillis, int maxKeys, int stripeCount) {
+        this.maxFailures = maxFailures;
+        this.windowMillis = windowMillis;
+        this.slotMillis = Math.max(1, windowMillis / SLOTS);
+        this.baseLockoutMillis = baseLockoutMillis;
+        this.maxLockoutMillis = maxLockoutMillis;
+        this.stripes = new Stripe[stripeCount];
+        int perStripe = Math.max(1, maxKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * @return how long the key stays locked, or 0 if it may try again now
+     */
+    public long lockedForMillis(String key, long nowMillis) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            return window == null ? 0 : Math.max(0, window.lockedUntil - nowMillis);
+        }
+    }
+
+    /**
+     * @return the lockout this failure started, or 0 if the key is still under the threshold
+     */
+    public long recordFailure(String key, long nowMillis) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window());
+            long slot = nowMillis / slotMillis;
+            window.advance(slot);
+            window.counts[(int) (slot % SLOTS)]++;
+            if (window.lockouts > 0 && nowMillis - window.lockedUntil > windowMillis) {
+                window.lockouts = 0;
+            }
+
+            if (window.total() < maxFailures || window.lockedUntil > nowMillis) {
+                return 0;
+            }
+            long lockout = Math.min(maxLockoutMillis, baseLockoutMillis << Math.min(window.lockouts, 20));
+            window.lockouts++;
+            window.lockedUntil = nowMillis + lockout;
+            return lockout;
+        }
+    }
+
+    public void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.windows.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Window> windows;
+
+        Stripe(int capacity) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    private static final class Window {
+
+        private final int[] counts = new int[SLOTS];
+        private long currentSlot = Long.MIN_VALUE;
+        private long lockedUntil;
+        private int lockouts;
+
+        // Zero the slots that fell out of the window since the last failure
+        void advance(long slot) {
+            if (currentSlot == Long.MIN_VALUE || slot - currentSlot >= SLOTS) {
+                Arrays.fill(counts, 0);
+            } else {
+                for (long s = currentSlot + 1; s <= slot; s++) {
+                    counts[(int) (s % SLOTS)] = 0;
+                }
+            }
+            currentSlot = Math.max(currentSlot, slot);
+        }
+
+        int total() {
+            int total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
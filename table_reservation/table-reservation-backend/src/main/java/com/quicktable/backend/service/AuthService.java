@@ -10,9 +10,11 @@ import com.quicktable.backend.exception.ResourceNotFoundException;
 import com.quicktable.backend.repository.StaffRepository;
 import com.quicktable.backend.repository.UserRepository;
 import com.quicktable.backend.security.JwtTokenProvider;
+import com.quicktable.backend.security.LoginAttemptService;
 import com.quicktable.backend.util.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -36,6 +38,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final DtoMapper dtoMapper;
     private final EmailService emailService;
+    private final LoginAttemptService loginAttemptService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -76,10 +79,20 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Reject locked-out emails and addresses before the password is hashed
+        loginAttemptService.checkAllowed(request.getEmail(), clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+            );
+        } catch (BadCredentialsException e) {
+            loginAttemptService.loginFailed(request.getEmail(), clientIp);
+            throw e;
+        }
+        loginAttemptService.loginSucceeded(request.getEmail());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -0,0 +1,104 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.entity.ContactMessage;
+import com.quicktable.backend.mail.ContactMailView;
+import com.quicktable.backend.scheduling.NodeLocalJob;
+import com.quicktable.backend.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers new contact messages and mails the admin one digest per window
+ * ({@code app.contact.digest.window-ms}). A digest may go out early when
+ * {@code app.contact.digest.max-batch} messages are waiting, but at most
+ * {@code app.contact.digest.max-early-sends} times per window, so a flood on the public contact
+ * form can't turn into a flood of mail. Past that, further messages are only counted in the next
+ * digest; they are all in the admin dashboard anyway.
+ */
+@Slf4j
+@Component
+public class ContactDigestNotifier {
+
+    private final EmailService emailService;
+    private final int maxBatch;
+    private final int maxEarlySends;
+
+    private final Object lock = new Object();
+    private List<ContactMailView> pending = new ArrayList<>();
+    // Messages received while pending was full and no early send was left
+    private int unlisted;
+    private int earlySends;
+
+    public ContactDigestNotifier(EmailService emailService,
+                                 @Value("${app.contact.digest.max-batch:50}") int maxBatch,
+                                 @Value("${app.contact.digest.max-early-sends:1}") int maxEarlySends) {
+        this.emailService = emailService;
+        this.maxBatch = maxBatch;
+        this.maxEarlySends = maxEarlySends;
+    }
+
+    public void messageReceived(ContactMessage message) {
+        ContactMailView view = ContactMailView.from(message);
+        AfterCommit.run(() -> add(view));
+    }
+
+    @NodeLocalJob
+    @Scheduled(fixedDelayString = "${app.contact.digest.window-ms:300000}",
+            initialDelayString = "${app.contact.digest.window-ms:300000}")
+    public void flush() {
+        Digest digest;
+        synchronized (lock) {
+            earlySends = 0;
+            if (pending.isEmpty()) {
+                return;
+            }
+            digest = take();
+        }
+        send(digest);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(ContactMailView view) {
+        Digest digest = null;
+        synchronized (lock) {
+            if (pending.size() < maxBatch) {
+                pending.add(view);
+            } else {
+                unlisted++;
+            }
+            if (pending.size() >= maxBatch && earlySends < maxEarlySends) {
+                earlySends++;
+                digest = take();
+            }
+        }
+        if (digest != null) {
+            send(digest);
+        }
+    }
+
+    // Caller holds the lock
+    private Digest take() {
+        Digest digest = new Digest(pending, pending.size() + unlisted);
+        pending = new ArrayList<>();
+        unlisted = 0;
+        return digest;
+    }
+
+    private void send(Digest digest) {
+        log.debug("Sending contact digest with {} message(s)", digest.total());
+        emailService.sendContactDigest(digest.messages(), digest.total());
+    }
+
+    private record Digest(List<ContactMailView> messages, int total) {
+    }
+}
@@ -5,17 +5,21 @@ import com.quicktable.backend.dto.common.PagedResponse;
 import com.quicktable.backend.entity.ContactMessage;
 import com.quicktable.backend.exception.ResourceNotFoundException;
 import com.quicktable.backend.repository.ContactMessageRepository;
+import com.quicktable.backend.scheduling.NodeLocalJob;
+import com.quicktable.backend.util.AfterCommit;
 import com.quicktable.backend.util.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +29,12 @@ public class ContactMessageService {
 
     private final ContactMessageRepository contactMessageRepository;
     private final EmailService emailService;
+    private final ContactDigestNotifier contactDigestNotifier;
     private final DtoMapper dtoMapper;
 
+    // Unread messages, kept in step with writes after commit; -1 until first loaded
+    private final AtomicLong unreadCount = new AtomicLong(-1);
+
     @Transactional
     public ContactMessageDTO createContactMessage(CreateContactMessageRequest request) {
         ContactMessage message = ContactMessage.builder()
@@ -40,18 +48,21 @@ public class ContactMessageService {
 
         ContactMessage savedMessage = contactMessageRepository.save(message);
 
-        // Optionally send notification to admin
-        emailService.sendNewContactMessageNotification(savedMessage);
+        // Admin is notified in a digest, not per message
+        contactDigestNotifier.messageReceived(savedMessage);
+        adjustUnreadCount(1);
 
         return dtoMapper.toContactMessageDTO(savedMessage);
     }
 
+    @Transactional(readOnly = true)
     public List<ContactMessageDTO> getAllMessages() {
         return contactMessageRepository.findAll(Sort.by("createdAt").descending()).stream()
                 .map(dtoMapper::toContactMessageDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<ContactMessageDTO> getAllMessagesPaged(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<ContactMessage> messagePage = contactMessageRepository.findAll(pageable);
@@ -63,12 +74,14 @@ public class ContactMessageService {
         return PagedResponse.of(dtos, page, size, messagePage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
     public ContactMessageDTO getMessageById(Long id) {
         ContactMessage message = contactMessageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Contact message not found"));
         return dtoMapper.toContactMessageDTO(message);
     }
 
+    @Transactional(readOnly = true)
     public List<ContactMessageDTO> getUnreadMessages() {
         return contactMessageRepository.findByReadFalse().stream()
                 .map(dtoMapper::toContactMessageDTO)
@@ -77,23 +90,28 @@ public class ContactMessageService {
 
     @Transactional
     public ContactMessageDTO markAsRead(Long id) {
+        boolean wasUnread = contactMessageRepository.markReadIfUnread(id) > 0;
         ContactMessage message = contactMessageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Contact message not found"));
 
-        message.setRead(true);
-        ContactMessage savedMessage = contactMessageRepository.save(message);
-        return dtoMapper.toContactMessageDTO(savedMessage);
+        if (wasUnread) {
+            adjustUnreadCount(-1);
+        }
+        return dtoMapper.toContactMessageDTO(message);
     }
 
     @Transactional
     public ContactMessageDTO replyToMessage(Long id, ReplyContactMessageRequest request) {
+        boolean wasUnread = contactMessageRepository.markReadIfUnread(id) > 0;
         ContactMessage message = contactMessageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Contact message not found"));
 
         message.setReplied(true);
         message.setReplyMessage(request.getReplyMessage());
         message.setRepliedAt(LocalDateTime.now());
-        message.setRead(true);
+        if (wasUnread) {
+            adjustUnreadCount(-1);
+        }
 
         ContactMessage savedMessage = contactMessageRepository.save(message);
 
@@ -107,12 +125,34 @@ public class ContactMessageService {
 
     @Transactional
     public void deleteMessage(Long id) {
+        if (contactMessageRepository.deleteIfUnread(id) > 0) {
+            adjustUnreadCount(-1);
+            return;
+        }
         ContactMessage message = contactMessageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Contact message not found"));
         contactMessageRepository.delete(message);
     }
 
     public Long getUnreadCount() {
-        return contactMessageRepository.countByReadFalse();
+        long count = unreadCount.get();
+        if (count < 0) {
+            count = contactMessageRepository.countByReadFalse();
+            unreadCount.compareAndSet(-1, count);
+        }
+        return count;
+    }
+
+    // Corrects drift from other instances or direct database edits
+    @NodeLocalJob
+    @Scheduled(fixedDelayString = "${app.contact.unread-resync-ms:300000}")
+    public void resyncUnreadCount() {
+        if (unreadCount.get() >= 0) {
+            unreadCount.set(contactMessageRepository.countByReadFalse());
+        }
+    }
+
+    private void adjustUnreadCount(long delta) {
+        AfterCommit.run(() -> unreadCount.updateAndGet(count -> count < 0 ? count : Math.max(0, count + delta)));
     }
 }
@@ -7,6 +7,7 @@ import com.quicktable.backend.repository.ReservationRepository;
 import com.quicktable.backend.repository.RestaurantTableRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
@@ -18,6 +19,7 @@ public class DashboardService {
     private final RestaurantTableRepository tableRepository;
     private final UserService userService;
 
+    @Transactional(readOnly = true)
     public DashboardStatsDTO getDashboardStats() {
         LocalDate today = LocalDate.now();
         LocalDate yesterday = today.minusDays(1);
@@ -71,6 +73,7 @@ public class DashboardService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public DashboardStatsDTO getStatsByDate(LocalDate date) {
         Long totalReservations = reservationRepository.countByDate(date);
         Long confirmedReservations = reservationRepository.countByDateAndStatus(date, ReservationStatus.CONFIRMED);
@@ -0,0 +1,288 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.table.TableCombinationDTO;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.TableShape;
+import com.quicktable.backend.entity.TableStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Which tables can be pushed together, built from one table catalog snapshot. Two tables are
+ * adjacent when they share a {@code TableLocation}, both have straight edges (square or
+ * rectangle), and their floor-plan positions are at most {@code maxDistance} apart.
+ * A combination is a connected group of adjacent tables.
+ */
+@Slf4j
+final class FloorPlan {
+
+    /**
+     * A group of tables, as indexes into this floor plan, kept small because a busy floor has
+     * thousands of them per party size; {@link #toDTO} builds the public view on demand.
+     */
+    record Combination(int[] members, int seats) {
+    }
+
+    private final TableDTO[] tables;
+    private final int[] capacity;
+    private final long[][] neighbours;
+    private final int words;
+    private final Map<Long, Integer> indexById = new HashMap<>();
+    private final int maxCapacity;
+
+    private FloorPlan(List<TableDTO> combinable, double maxDistance) {
+        tables = combinable.toArray(TableDTO[]::new);
+        capacity = new int[tables.length];
+        words = (tables.length + 63) >>> 6;
+        neighbours = new long[tables.length][words];
+        int largest = 0;
+        for (int i = 0; i < tables.length; i++) {
+            capacity[i] = tables[i].getCapacity();
+            largest = Math.max(largest, capacity[i]);
+            indexById.put(tables[i].getId(), i);
+        }
+        maxCapacity = largest;
+
+        double maxDistanceSquared = maxDistance * maxDistance;
+        for (int i = 0; i < tables.length; i++) {
+            for (int j = i + 1; j < tables.length; j++) {
+                if (tables[i].getLocation() == tables[j].getLocation()
+                        && distanceSquared(tables[i], tables[j]) <= maxDistanceSquared) {
+                    neighbours[i][j >>> 6] |= 1L << j;
+                    neighbours[j][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+    }
+
+    static FloorPlan of(Collection<TableDTO> tables, double maxDistance) {
+        List<TableDTO> combinable = tables.stream()
+                .filter(FloorPlan::isCombinable)
+                .sorted(Comparator.comparing(TableDTO::getId))
+                .toList();
+        return new FloorPlan(combinable, maxDistance);
+    }
+
+    int size() {
+        return tables.length;
+    }
+
+    /**
+     * Whether the tables form one connected group on this floor plan.
+     */
+    boolean isConnected(Collection<Long> tableIds) {
+        int[] members = new int[tableIds.size()];
+        int count = 0;
+        for (Long id : tableIds) {
+            Integer index = indexById.get(id);
+            if (index == null) {
+                return false;
+            }
+            members[count++] = index;
+        }
+        if (count == 0) {
+            return false;
+        }
+
+        // Members [0, reached) are connected to the first; pull in any member next to one of them
+        int reached = 1;
+        for (int i = 0; i < reached; i++) {
+            for (int j = reached; j < count; j++) {
+                if (isAdjacent(members[i], members[j])) {
+                    int swap = members[reached];
+                    members[reached] = members[j];
+                    members[j] = swap;
+                    reached++;
+                }
+            }
+        }
+        return reached == count;
+    }
+
+    boolean allMatch(Combination combination, Predicate<Long> condition) {
+        for (int member : combination.members()) {
+            if (!condition.test(tables[member].getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    TableCombinationDTO toDTO(Combination combination) {
+        List<TableDTO> group = new ArrayList<>(combination.members().length);
+        for (int member : combination.members()) {
+            group.add(tables[member]);
+        }
+        group.sort(Comparator.comparing(TableDTO::getTableNumber));
+        return TableCombinationDTO.builder()
+                .tableIds(group.stream().map(TableDTO::getId).toList())
+                .tableNumbers(group.stream().map(TableDTO::getTableNumber).toList())
+                .capacity(combination.seats())
+                .location(group.get(0).getLocation())
+                .build();
+    }
+
+    /**
+     * Every connected group of 2 to {@code maxTables} tables that seats {@code guests} and has no
+     * spare table (dropping its smallest table would leave too few seats), best first: fewest
+     * tables, then fewest empty seats, then lowest table id.
+     * <p>
+     * Groups are enumerated once each (ESU: each group is grown from its lowest-index table, only
+     * through tables not already next to the group), a group stops growing as soon as it seats the
+     * party, and branches that can't reach {@code guests} even with the largest tables are cut.
+     * {@code budget} caps the number of groups visited, so a pathological floor plan degrades to
+     * fewer suggestions rather than a slow request.
+     */
+    List<Combination> combinationsFor(int guests, int maxTables, int budget) {
+        Search search = new Search(guests, maxTables, budget);
+        for (int root = 0; root < tables.length && search.budget > 0; root++) {
+            long[] extension = search.extension[1];
+            long[] neighbourhood = search.neighbourhood[1];
+            for (int w = 0; w < words; w++) {
+                extension[w] = neighbours[root][w] & aboveMask(root, w);
+                neighbourhood[w] = neighbours[root][w];
+            }
+            neighbourhood[root >>> 6] |= 1L << root;
+            search.members[0] = root;
+            search.extend(root, 1, capacity[root]);
+        }
+        if (search.budget <= 0) {
+            log.warn("Table combination search for {} guests stopped after its budget; {} found", guests,
+                    search.found.size());
+        }
+
+        return rank(search.found, maxTables);
+    }
+
+    /**
+     * Stable counting sort by table count, then seats; groups tied on both stay in discovery
+     * order, i.e. by lowest table id. Linear, which matters with thousands of groups.
+     */
+    private List<Combination> rank(List<Combination> found, int maxTables) {
+        int seatRange = maxTables * maxCapacity + 1;
+        int[] starts = new int[(maxTables + 1) * seatRange + 1];
+        for (Combination combination : found) {
+            starts[key(combination, seatRange) + 1]++;
+        }
+        for (int key = 1; key < starts.length; key++) {
+            starts[key] += starts[key - 1];
+        }
+        Combination[] ranked = new Combination[found.size()];
+        for (Combination combination : found) {
+            ranked[starts[key(combination, seatRange)]++] = combination;
+        }
+        return Arrays.asList(ranked);
+    }
+
+    private static int key(Combination combination, int seatRange) {
+        return combination.members().length * seatRange + combination.seats();
+    }
+
+    /**
+     * Walks the search tree with one preallocated set of bit words per depth, so growing a group
+     * allocates nothing until it is recorded.
+     */
+    private final class Search {
+
+        final int guests;
+        final int maxTables;
+        final int[] members;
+        final long[][] extension;
+        final long[][] neighbourhood;
+        final List<Combination> found = new ArrayList<>();
+        int budget;
+
+        Search(int guests, int maxTables, int budget) {
+            this.guests = guests;
+            this.maxTables = maxTables;
+            this.members = new int[maxTables];
+            this.extension = new long[maxTables + 1][words];
+            this.neighbourhood = new long[maxTables + 1][words];
+            this.budget = budget;
+        }
+
+        void extend(int root, int size, int seats) {
+            if (seats >= guests) {
+                if (size > 1) {
+                    record(size, seats);
+                }
+                return;
+            }
+            if (size == maxTables || seats + (maxTables - size) * maxCapacity < guests) {
+                return;
+            }
+
+            long[] remaining = extension[size];
+            long[] neighbourhoodHere = neighbourhood[size];
+            long[] nextExtension = extension[size + 1];
+            long[] nextNeighbourhood = neighbourhood[size + 1];
+            for (int word = 0; word < words; word++) {
+                while (remaining[word] != 0) {
+                    if (--budget <= 0) {
+                        return;
+                    }
+                    int next = (word << 6) + Long.numberOfTrailingZeros(remaining[word]);
+                    remaining[word] &= remaining[word] - 1;
+
+                    // Tables next to the new one that aren't yet next to the group, above the root
+                    long[] adjacent = neighbours[next];
+                    for (int w = 0; w < words; w++) {
+                        nextExtension[w] = remaining[w] | (adjacent[w] & ~neighbourhoodHere[w] & aboveMask(root, w));
+                        nextNeighbourhood[w] = neighbourhoodHere[w] | adjacent[w];
+                    }
+
+                    members[size] = next;
+                    extend(root, size + 1, seats + capacity[next]);
+                }
+            }
+        }
+
+        private void record(int size, int seats) {
+            int smallest = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                smallest = Math.min(smallest, capacity[members[i]]);
+            }
+            if (seats - smallest >= guests) {
+                return;
+            }
+            found.add(new Combination(Arrays.copyOf(members, size), seats));
+        }
+    }
+
+    private boolean isAdjacent(int a, int b) {
+        return (neighbours[a][b >>> 6] & (1L << b)) != 0;
+    }
+
+    // Bits of word w for table indexes strictly greater than root
+    private static long aboveMask(int root, int word) {
+        int rootWord = root >>> 6;
+        if (word < rootWord) {
+            return 0L;
+        }
+        if (word > rootWord) {
+            return -1L;
+        }
+        return (-1L << (root & 63)) << 1;
+    }
+
+    private static boolean isCombinable(TableDTO table) {
+        return table.getStatus() != TableStatus.MAINTENANCE
+                && (table.getShape() == TableShape.SQUARE || table.getShape() == TableShape.RECTANGLE)
+                && table.getPositionX() != null && table.getPositionY() != null
+                && table.getLocation() != null && table.getCapacity() != null;
+    }
+
+    private static double distanceSquared(TableDTO a, TableDTO b) {
+        double dx = a.getPositionX() - b.getPositionX();
+        double dy = a.getPositionY() - b.getPositionY();
+        return dx * dx + dy * dy;
+    }
+}
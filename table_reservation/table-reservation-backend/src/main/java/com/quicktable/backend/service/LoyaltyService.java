@@ -0,0 +1,213 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.common.PagedResponse;
+import com.quicktable.backend.dto.loyalty.LoyaltyTransactionDTO;
+import com.quicktable.backend.dto.loyalty.RedeemPointsRequest;
+import com.quicktable.backend.entity.LoyaltyTier;
+import com.quicktable.backend.entity.LoyaltyTransaction;
+import com.quicktable.backend.entity.LoyaltyTransactionType;
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.exception.ResourceNotFoundException;
+import com.quicktable.backend.repository.LoyaltyTransactionRepository;
+import com.quicktable.backend.repository.LoyaltyTransactionRepository.PendingLoyaltyDelta;
+import com.quicktable.backend.repository.UserRepository;
+import com.quicktable.backend.util.DtoMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Loyalty points are kept in an append-only ledger. Booking paths only insert ledger rows;
+ * the balance and tier on {@link User} are a snapshot folded forward in batches by
+ * {@link #recomputeBalances()}.
+ * <p>
+ * Ledger ids are handed out at insert but become visible at commit, so a transaction still
+ * open can hold an id below one that is already committed. The recompute therefore only folds
+ * entries below the first id written within {@code app.loyalty.fold-lag-ms}; the lag must
+ * outlast any transaction that writes the ledger. Entries above the watermark still count
+ * towards the available balance, they just aren't in the snapshot yet.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@SuppressWarnings("null")
+public class LoyaltyService {
+
+    private final LoyaltyTransactionRepository loyaltyTransactionRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DtoMapper dtoMapper;
+
+    @Value("${app.loyalty.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.loyalty.expiry-months:12}")
+    private int expiryMonths;
+
+    @Value("${app.loyalty.fold-lag-ms:300000}")
+    private long foldLagMillis;
+
+    private record ExpiryBatch(long lastUserId, int expired) {
+    }
+
+    @Transactional
+    public void recordEarned(Reservation reservation, int points) {
+        if (points <= 0) {
+            return;
+        }
+        // Same lock as redemption and expiry, so an expiry can't miss points earned while it runs
+        userRepository.findByIdForUpdate(reservation.getUser().getId());
+        loyaltyTransactionRepository.save(LoyaltyTransaction.builder()
+                .userId(reservation.getUser().getId())
+                .reservationId(reservation.getId())
+                .type(LoyaltyTransactionType.EARNED)
+                .points(points)
+                .description("Reservation " + reservation.getReservationCode())
+                .build());
+    }
+
+    @Transactional
+    public LoyaltyTransactionDTO redeemPoints(Long userId, RedeemPointsRequest request) {
+        // Redemptions are rare; lock the user row so two of them cannot overdraw the balance
+        User user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        long available = getAvailablePoints(user);
+        if (available < request.getPoints()) {
+            throw new BadRequestException("Insufficient loyalty points (available: " + available + ")");
+        }
+
+        LoyaltyTransaction saved = loyaltyTransactionRepository.save(LoyaltyTransaction.builder()
+                .userId(userId)
+                .type(LoyaltyTransactionType.REDEEMED)
+                .points(-request.getPoints())
+                .description(request.getDescription() != null ? request.getDescription() : "Points redeemed")
+                .build());
+        return dtoMapper.toLoyaltyTransactionDTO(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponse<LoyaltyTransactionDTO> getHistory(Long userId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
+        Page<LoyaltyTransaction> entries = loyaltyTransactionRepository.findByUserId(userId, pageable);
+
+        List<LoyaltyTransactionDTO> dtos = entries.getContent().stream()
+                .map(dtoMapper::toLoyaltyTransactionDTO)
+                .collect(Collectors.toList());
+
+        return PagedResponse.of(dtos, page, size, entries.getTotalElements());
+    }
+
+    // Snapshot balance plus ledger entries the background job has not folded in yet
+    private long getAvailablePoints(User user) {
+        long offset = user.getLoyaltyLedgerOffset() != null ? user.getLoyaltyLedgerOffset() : 0L;
+        return user.getLoyaltyPoints() + loyaltyTransactionRepository.sumPointsAfter(user.getId(), offset);
+    }
+
+    @Scheduled(fixedDelayString = "${app.loyalty.recompute-interval-ms:60000}")
+    public void recomputeBalances() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long firstRecentId = loyaltyTransactionRepository
+                .findFirstIdSince(LocalDateTime.now().minus(Duration.ofMillis(foldLagMillis)));
+        long watermark = firstRecentId != null ? firstRecentId : Long.MAX_VALUE;
+        int applied = 0;
+
+        while (true) {
+            Integer batchApplied = tx.execute(status -> applyPendingBatch(watermark));
+            if (batchApplied == null || batchApplied == 0) {
+                break;
+            }
+            applied += batchApplied;
+        }
+
+        if (applied > 0) {
+            log.info("Recomputed loyalty balances for {} users", applied);
+        }
+    }
+
+    private int applyPendingBatch(long watermark) {
+        List<PendingLoyaltyDelta> deltas = loyaltyTransactionRepository
+                .findPendingDeltas(watermark, PageRequest.of(0, batchSize));
+
+        int applied = 0;
+        for (PendingLoyaltyDelta delta : deltas) {
+            int points = (int) Math.max(0, delta.getCurrentPoints() + delta.getPoints());
+            applied += userRepository.applyLoyaltySnapshot(
+                    delta.getUserId(),
+                    points,
+                    LoyaltyTier.forPoints(points),
+                    delta.getLastEntryId(),
+                    delta.getCurrentOffset());
+        }
+        return applied;
+    }
+
+    @Scheduled(cron = "${app.loyalty.expiry-cron:0 15 4 * * *}")
+    public void expireInactivePoints() {
+        if (expiryMonths <= 0) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(expiryMonths);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int expired = 0;
+        long afterUserId = 0;
+
+        while (true) {
+            long after = afterUserId;
+            ExpiryBatch batch = tx.execute(status -> expireBatch(cutoff, after));
+            if (batch == null) {
+                break;
+            }
+            expired += batch.expired();
+            afterUserId = batch.lastUserId();
+        }
+
+        if (expired > 0) {
+            log.info("Expired loyalty points for {} inactive users", expired);
+        }
+    }
+
+    // Walks users in id order, so ones left without a new entry aren't picked up again
+    private ExpiryBatch expireBatch(LocalDateTime cutoff, long afterUserId) {
+        List<Long> userIds = loyaltyTransactionRepository
+                .findInactiveUserIdsWithPoints(cutoff, afterUserId, PageRequest.of(0, batchSize));
+        if (userIds.isEmpty()) {
+            return null;
+        }
+
+        int expired = 0;
+        for (Long userId : userIds) {
+            User user = userRepository.findByIdForUpdate(userId).orElse(null);
+            long available = user != null ? getAvailablePoints(user) : 0;
+            // Snapshot points already spent by entries not folded in yet leave nothing to expire
+            if (available <= 0) {
+                continue;
+            }
+            loyaltyTransactionRepository.save(LoyaltyTransaction.builder()
+                    .userId(userId)
+                    .type(LoyaltyTransactionType.EXPIRED)
+                    .points((int) -available)
+                    .description("Points expired after " + expiryMonths + " months of inactivity")
+                    .build());
+            expired++;
+        }
+        return new ExpiryBatch(userIds.get(userIds.size() - 1), expired);
+    }
+}
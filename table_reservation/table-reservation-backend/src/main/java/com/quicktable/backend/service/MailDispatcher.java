@@ -0,0 +1,67 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.config.AsyncConfig;
+import com.quicktable.backend.mail.RenderedMail;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends rendered mails (plain text with an HTML alternative) off the request thread. Mails are
+ * rendered by {@link EmailService} on the caller's thread, so nothing here touches JPA.
+ */
+@Slf4j
+@Service
+public class MailDispatcher {
+
+    private final JavaMailSender mailSender;
+    private final QuickTableMetrics metrics;
+    private final Semaphore sendPermits;
+
+    public MailDispatcher(JavaMailSender mailSender,
+                          QuickTableMetrics metrics,
+                          @Value("${app.email.max-concurrent-sends:4}") int maxConcurrentSends) {
+        this.mailSender = mailSender;
+        this.metrics = metrics;
+        this.sendPermits = new Semaphore(maxConcurrentSends);
+    }
+
+    @Async(AsyncConfig.MAIL_EXECUTOR)
+    public void send(String from, String to, RenderedMail mail) {
+        String type = mail.type().getKey();
+        try {
+            sendPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted before sending {} email", type);
+            return;
+        }
+
+        Timer.Sample sample = metrics.start();
+        boolean sent = false;
+        try {
+            mailSender.send(mimeMessage -> {
+                MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+                helper.setFrom(from);
+                helper.setTo(to);
+                helper.setSubject(mail.type().getSubject());
+                helper.setText(mail.text(), mail.html());
+            });
+            sent = true;
+            log.info("Sent {} email to: {}", type, to);
+        } catch (Exception e) {
+            log.error("Failed to send {} email: {}", type, e.getMessage());
+        } finally {
+            sendPermits.release();
+            metrics.emailSent(sample, type, sent);
+        }
+    }
+}
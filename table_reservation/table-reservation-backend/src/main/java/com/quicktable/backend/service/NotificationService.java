@@ -1,17 +1,28 @@
 package com.quicktable.backend.service;
 
 import com.quicktable.backend.entity.*;
+import com.quicktable.backend.metrics.QuickTableMetrics;
 import com.quicktable.backend.repository.NotificationRepository;
 import com.quicktable.backend.repository.ReservationRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Reservation reminders go out 24 hours and 2 hours before the booking. In the default
+ * {@code computed} mode they are worked out from the reservation's date and time at each sweep,
+ * with its {@code reminderSent*} flags as the only state, so bookings write no reminder rows and a
+ * rescheduled booking is reminded at its new time. The older {@code stored} mode writes a
+ * {@link Notification} row per reminder when the booking is made.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -21,9 +32,46 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final ReservationRepository reservationRepository;
     private final EmailService emailService;
+    private final QuickTableMetrics metrics;
+
+    @Value("${app.notifications.reminder-mode:computed}")
+    private ReminderMode reminderMode;
+
+    public enum ReminderMode {
+        COMPUTED, STORED
+    }
+
+    /**
+     * Marks the reminders whose time has already passed as sent, so a booking made (or moved)
+     * less than 24 hours ahead isn't told it is 24 hours away. Call before saving.
+     */
+    public void markPassedReminders(Reservation reservation) {
+        LocalDateTime start = LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime());
+        LocalDateTime now = LocalDateTime.now();
+        reservation.setReminderSent24h(!start.minusHours(24).isAfter(now));
+        reservation.setReminderSent2h(!start.minusHours(2).isAfter(now));
+    }
+
+    /**
+     * Reminders for a booking whose date or time changed: the flags follow the new time and, in
+     * stored mode, unsent reminder rows are replaced.
+     */
+    @Transactional
+    public void rescheduleReminders(Reservation reservation) {
+        markPassedReminders(reservation);
+        if (reminderMode == ReminderMode.STORED) {
+            notificationRepository.deleteUnsentReminders(reservation.getId(),
+                    List.of(NotificationType.REMINDER_24H, NotificationType.REMINDER_2H));
+            scheduleReminders(reservation);
+        }
+    }
 
     @Transactional
     public void scheduleReminders(Reservation reservation) {
+        if (reminderMode == ReminderMode.COMPUTED) {
+            return;
+        }
+
         // Schedule 24-hour reminder
         LocalDateTime reservation24h = LocalDateTime.of(
                 reservation.getReservationDate().minusDays(1),
@@ -65,12 +113,14 @@ public class NotificationService {
         log.info("Scheduled reminders for reservation: {}", reservation.getReservationCode());
     }
 
-    // Run every 15 minutes to check for pending notifications
-    @Scheduled(fixedRate = 900000) // 15 minutes
+    // Run every 15 minutes (app.notifications.sweep-interval-ms) to check for pending notifications
+    @Scheduled(fixedRateString = "${app.notifications.sweep-interval-ms:900000}")
     @Transactional
     public void processPendingNotifications() {
+        Timer.Sample sample = metrics.start();
+        LocalDateTime now = LocalDateTime.now();
         List<Notification> pendingNotifications = notificationRepository
-                .findPendingNotifications(LocalDateTime.now());
+                .findPendingNotifications(now);
 
         for (Notification notification : pendingNotifications) {
             try {
@@ -78,6 +128,9 @@ public class NotificationService {
                 notification.setSent(true);
                 notification.setSentAt(LocalDateTime.now());
                 notificationRepository.save(notification);
+                if (notification.getScheduledFor() != null) {
+                    metrics.notificationSent(Duration.between(notification.getScheduledFor(), notification.getSentAt()));
+                }
                 log.info("Sent notification: {} for reservation: {}",
                         notification.getType(),
                         notification.getReservation().getReservationCode());
@@ -85,11 +138,58 @@ public class NotificationService {
                 log.error("Failed to send notification: {}", e.getMessage());
             }
         }
+
+        int reminders = reminderMode == ReminderMode.COMPUTED ? sendDueReminders(now) : 0;
+        metrics.notificationSweepCompleted(sample, pendingNotifications.size() + reminders);
+    }
+
+    // The 2-hour pass runs first and also settles the 24-hour flag, so a booking that is due for
+    // both (made late, or the sweep was down) only gets the nearer reminder
+    private int sendDueReminders(LocalDateTime now) {
+        LocalDateTime in2h = now.plusHours(2);
+        List<Reservation> due2h = reservationRepository.findReservationsDueFor2hReminder(
+                now.toLocalDate(), now.toLocalTime(), in2h.toLocalDate(), in2h.toLocalTime());
+        for (Reservation reservation : due2h) {
+            sendReminder(reservation, 2, now);
+        }
+
+        LocalDateTime in24h = now.plusHours(24);
+        List<Reservation> due24h = reservationRepository.findReservationsDueFor24hReminder(
+                now.toLocalDate(), now.toLocalTime(), in24h.toLocalDate(), in24h.toLocalTime());
+        for (Reservation reservation : due24h) {
+            sendReminder(reservation, 24, now);
+        }
+        return due2h.size() + due24h.size();
+    }
+
+    private void sendReminder(Reservation reservation, int hoursUntil, LocalDateTime now) {
+        try {
+            emailService.sendReservationReminder(reservation, hoursUntil);
+            reservation.setReminderSent24h(true);
+            if (hoursUntil == 2) {
+                reservation.setReminderSent2h(true);
+            }
+            reservationRepository.save(reservation);
+            LocalDateTime due = LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime())
+                    .minusHours(hoursUntil);
+            metrics.notificationSent(Duration.between(due, now));
+            log.info("Sent {}h reminder for reservation: {}", hoursUntil, reservation.getReservationCode());
+        } catch (Exception e) {
+            log.error("Failed to send reminder for reservation {}: {}", reservation.getReservationCode(), e.getMessage());
+        }
     }
 
     private void sendNotification(Notification notification) {
         Reservation reservation = notification.getReservation();
 
+        // Stored reminders left over from before a reschedule, a cancellation or a switch of mode
+        if ((notification.getType() == NotificationType.REMINDER_24H
+                || notification.getType() == NotificationType.REMINDER_2H)
+                && !isStillDue(notification.getType(), reservation)) {
+            log.debug("Skipping stale {} for reservation: {}", notification.getType(), reservation.getReservationCode());
+            return;
+        }
+
         switch (notification.getType()) {
             case REMINDER_24H:
                 emailService.sendReservationReminder(reservation, 24);
@@ -114,6 +214,15 @@ public class NotificationService {
         }
     }
 
+    private static boolean isStillDue(NotificationType type, Reservation reservation) {
+        boolean active = reservation.getStatus() == ReservationStatus.PENDING
+                || reservation.getStatus() == ReservationStatus.CONFIRMED;
+        boolean sent = type == NotificationType.REMINDER_24H
+                ? Boolean.TRUE.equals(reservation.getReminderSent24h())
+                : Boolean.TRUE.equals(reservation.getReminderSent2h());
+        return active && !sent;
+    }
+
     public List<Notification> getUserNotifications(Long userId) {
         return notificationRepository.findByUserId(userId);
     }
@@ -0,0 +1,121 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.entity.ReservationStatus;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Moves finished bookings (completed or cancelled) older than the retention window out of
+ * {@code reservations} into {@code reservations_archive}, oldest first, one short transaction
+ * per batch. Joined tables are folded into {@code joined_table_ids} and notifications keep their
+ * text but lose the link to the booking. Works in plain SQL so it doesn't load entities.
+ */
+@Slf4j
+public class ReservationArchiver {
+
+    private static final List<String> ARCHIVED_STATUSES =
+            List.of(ReservationStatus.COMPLETED.name(), ReservationStatus.CANCELLED.name());
+
+    private static final String COLUMNS = "id, reservation_code, user_id, table_id, customer_name, customer_email,"
+            + " customer_phone, reservation_date, reservation_time, number_of_guests, special_requests, status,"
+            + " loyalty_points_earned, cancellation_reason, cancelled_at, cancelled_by, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final QuickTableMetrics metrics;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public ReservationArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               QuickTableMetrics metrics, int retentionDays, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveExpired() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        archiveBefore(LocalDate.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Archives every completed or cancelled booking dated before {@code cutoff} and returns how
+     * many were moved.
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        Timer.Sample sample = metrics.start();
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+        metrics.reservationsArchived(sample, archived);
+        if (archived > 0) {
+            log.info("Archived {} reservations dated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("statuses", ARCHIVED_STATUSES)
+                .addValue("limit", batchSize);
+        List<Long> ids = namedJdbcTemplate.queryForList("SELECT id FROM reservations"
+                + " WHERE reservation_date < :cutoff AND status IN (:statuses)"
+                + " ORDER BY reservation_date, id LIMIT :limit", params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        params.addValue("ids", ids);
+
+        // The date bound lets Postgres skip every partition newer than the cutoff
+        namedJdbcTemplate.update("INSERT INTO reservations_archive (" + COLUMNS + ")"
+                + " SELECT " + COLUMNS + " FROM reservations"
+                + " WHERE id IN (:ids) AND reservation_date < :cutoff", params);
+
+        Map<Long, List<Long>> joined = new TreeMap<>();
+        namedJdbcTemplate.query("SELECT reservation_id, table_id FROM reservation_tables"
+                        + " WHERE reservation_id IN (:ids) ORDER BY reservation_id, table_id", params,
+                (RowCallbackHandler) row -> joined.computeIfAbsent(row.getLong(1), id -> new ArrayList<>()).add(row.getLong(2)));
+        if (!joined.isEmpty()) {
+            List<Object[]> updates = joined.entrySet().stream()
+                    .map(entry -> new Object[]{
+                            entry.getValue().stream().map(String::valueOf).collect(Collectors.joining(",")),
+                            entry.getKey()})
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE reservations_archive SET joined_table_ids = ? WHERE id = ?", updates);
+            namedJdbcTemplate.update("DELETE FROM reservation_tables WHERE reservation_id IN (:ids)", params);
+        }
+
+        namedJdbcTemplate.update("UPDATE notifications SET reservation_id = NULL WHERE reservation_id IN (:ids)",
+                params);
+        return namedJdbcTemplate.update("DELETE FROM reservations"
+                + " WHERE id IN (:ids) AND reservation_date < :cutoff", params);
+    }
+}
@@ -5,9 +5,12 @@ import com.quicktable.backend.dto.common.PagedResponse;
 import com.quicktable.backend.entity.*;
 import com.quicktable.backend.exception.BadRequestException;
 import com.quicktable.backend.exception.ResourceNotFoundException;
+import com.quicktable.backend.metrics.QuickTableMetrics;
 import com.quicktable.backend.repository.ReservationRepository;
 import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.util.AfterCommit;
 import com.quicktable.backend.util.DtoMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,7 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,76 +41,126 @@ public class ReservationService {
     private final DtoMapper dtoMapper;
     private final EmailService emailService;
     private final NotificationService notificationService;
+    private final LoyaltyService loyaltyService;
+    private final SlotHoldService slotHoldService;
+    private final TableAllocator tableAllocator;
+    private final TableCombinationService tableCombinationService;
+    private final QuickTableMetrics metrics;
 
     @Transactional
     public ReservationDTO createReservation(Long userId, CreateReservationRequest request) {
-        User user = userService.getUserEntityById(userId);
-        RestaurantTable table = tableRepository.findById(request.getTableId())
-                .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
-
-        // Check if table has enough capacity
-        if (table.getCapacity() < request.getNumberOfGuests()) {
-            throw new BadRequestException("Table capacity (" + table.getCapacity() +
-                    ") is less than the number of guests (" + request.getNumberOfGuests() + ")");
+        Timer.Sample sample = metrics.start();
+        String outcome = QuickTableMetrics.BOOKING_ERROR;
+        try {
+            List<RestaurantTable> tables;
+            if (request.getTableId() == null) {
+                try {
+                    tables = tableAllocator.allocate(userId, request.getReservationDate(),
+                            request.getReservationTime(), request.getNumberOfGuests(), request.getPreferredLocation());
+                } catch (BadRequestException e) {
+                    outcome = QuickTableMetrics.BOOKING_CONFLICT;
+                    throw e;
+                }
+            } else {
+                List<Long> tableIds = requestedTableIds(request);
+
+                // Someone else's hold refuses the booking before any database work
+                try {
+                    for (Long tableId : tableIds) {
+                        slotHoldService.checkForBooking(userId, tableId,
+                                request.getReservationDate(), request.getReservationTime());
+                    }
+                } catch (BadRequestException e) {
+                    outcome = QuickTableMetrics.BOOKING_CONFLICT;
+                    throw e;
+                }
+                if (tableIds.size() > 1 && !tableCombinationService.isCombination(tableIds)) {
+                    throw new BadRequestException("These tables can't be pushed together");
+                }
+
+                // Locked until commit, so two bookings of a table can't both pass the conflict check
+                tables = lockTables(tableIds);
+
+                // Check if the table (or combination) has enough capacity
+                int capacity = tables.stream().mapToInt(RestaurantTable::getCapacity).sum();
+                if (capacity < request.getNumberOfGuests()) {
+                    outcome = QuickTableMetrics.BOOKING_CAPACITY;
+                    throw new BadRequestException("Table capacity (" + capacity +
+                            ") is less than the number of guests (" + request.getNumberOfGuests() + ")");
+                }
+
+                // Check for conflicting reservations (2-hour slots, same rule as the allocator)
+                for (Long tableId : tableIds) {
+                    if (reservationRepository.isTableBooked(tableId,
+                            request.getReservationDate(), request.getReservationTime())) {
+                        outcome = QuickTableMetrics.BOOKING_CONFLICT;
+                        throw new BadRequestException("This table is already reserved for the selected time slot");
+                    }
+                }
+            }
+
+            User user = userService.getUserEntityById(userId);
+
+            Reservation reservation = Reservation.builder()
+                    .user(user)
+                    .table(tables.get(0))
+                    .joinedTables(new HashSet<>(tables.subList(1, tables.size())))
+                    .customerName(request.getCustomerName())
+                    .customerEmail(request.getCustomerEmail())
+                    .customerPhone(request.getCustomerPhone())
+                    .reservationDate(request.getReservationDate())
+                    .reservationTime(request.getReservationTime())
+                    .numberOfGuests(request.getNumberOfGuests())
+                    .specialRequests(request.getSpecialRequests())
+                    .status(ReservationStatus.CONFIRMED)
+                    .loyaltyPointsEarned(0)
+                    .build();
+            notificationService.markPassedReminders(reservation);
+
+            Reservation savedReservation = reservationRepository.save(reservation);
+
+            // Update user stats
+            userService.updateUserStats(userId, false, false);
+
+            // Send confirmation email
+            emailService.sendReservationConfirmation(savedReservation);
+
+            // Schedule reminders
+            notificationService.scheduleReminders(savedReservation);
+
+            outcome = QuickTableMetrics.BOOKING_CREATED;
+            return dtoMapper.toReservationDTO(savedReservation);
+        } finally {
+            // Timed to the end of the transaction, and a booking whose commit fails isn't "created"
+            String result = outcome;
+            AfterCommit.runAfterCompletion(committed -> metrics.bookingCompleted(sample,
+                    committed || !QuickTableMetrics.BOOKING_CREATED.equals(result)
+                            ? result : QuickTableMetrics.BOOKING_ERROR));
         }
-
-        // Check for conflicting reservations (assuming 2-hour reservation slots)
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                request.getTableId(),
-                request.getReservationDate(),
-                request.getReservationTime()
-        );
-
-        if (!conflicts.isEmpty()) {
-            throw new BadRequestException("This table is already reserved for the selected time slot");
-        }
-
-        Reservation reservation = Reservation.builder()
-                .user(user)
-                .table(table)
-                .customerName(request.getCustomerName())
-                .customerEmail(request.getCustomerEmail())
-                .customerPhone(request.getCustomerPhone())
-                .reservationDate(request.getReservationDate())
-                .reservationTime(request.getReservationTime())
-                .numberOfGuests(request.getNumberOfGuests())
-                .specialRequests(request.getSpecialRequests())
-                .status(ReservationStatus.CONFIRMED)
-                .loyaltyPointsEarned(0)
-                .build();
-
-        Reservation savedReservation = reservationRepository.save(reservation);
-
-        // Update user stats
-        userService.updateUserStats(userId, false, false);
-
-        // Send confirmation email
-        emailService.sendReservationConfirmation(savedReservation);
-
-        // Schedule reminders
-        notificationService.scheduleReminders(savedReservation);
-
-        return dtoMapper.toReservationDTO(savedReservation);
     }
 
+    @Transactional(readOnly = true)
     public ReservationDTO getReservationById(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
         return dtoMapper.toReservationDTO(reservation);
     }
 
+    @Transactional(readOnly = true)
     public ReservationDTO getReservationByCode(String code) {
         Reservation reservation = reservationRepository.findByReservationCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
         return dtoMapper.toReservationDTO(reservation);
     }
 
+    @Transactional(readOnly = true)
     public List<ReservationDTO> getUserReservations(Long userId) {
         return reservationRepository.findByUserId(userId).stream()
                 .map(dtoMapper::toReservationDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<ReservationDTO> getUserReservationsPaged(Long userId, int page, int size, ReservationStatus status) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("reservationDate").descending());
         Page<Reservation> reservations;
@@ -119,16 +178,19 @@ public class ReservationService {
         return PagedResponse.of(dtos, page, size, reservations.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
     public List<ReservationDTO> getReservationsByDate(LocalDate date) {
         return reservationRepository.findByReservationDate(date).stream()
                 .map(dtoMapper::toReservationDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ReservationDTO> getTodayReservations() {
         return getReservationsByDate(LocalDate.now());
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<ReservationDTO> searchReservations(ReservationFilterRequest filter) {
         Pageable pageable = PageRequest.of(
                 filter.getPage(),
@@ -165,11 +227,14 @@ public class ReservationService {
         if (request.getCustomerPhone() != null) {
             reservation.setCustomerPhone(request.getCustomerPhone());
         }
-        if (request.getReservationDate() != null) {
+        boolean rescheduled = false;
+        if (request.getReservationDate() != null && !request.getReservationDate().equals(reservation.getReservationDate())) {
             reservation.setReservationDate(request.getReservationDate());
+            rescheduled = true;
         }
-        if (request.getReservationTime() != null) {
+        if (request.getReservationTime() != null && !request.getReservationTime().equals(reservation.getReservationTime())) {
             reservation.setReservationTime(request.getReservationTime());
+            rescheduled = true;
         }
         if (request.getNumberOfGuests() != null) {
             reservation.setNumberOfGuests(request.getNumberOfGuests());
@@ -181,11 +246,16 @@ public class ReservationService {
             RestaurantTable newTable = tableRepository.findById(request.getTableId())
                     .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
             reservation.setTable(newTable);
+            reservation.getJoinedTables().clear();
         }
         if (request.getStatus() != null) {
             reservation.setStatus(request.getStatus());
         }
 
+        if (rescheduled) {
+            notificationService.rescheduleReminders(reservation);
+        }
+
         Reservation savedReservation = reservationRepository.save(reservation);
         return dtoMapper.toReservationDTO(savedReservation);
     }
@@ -210,13 +280,14 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.COMPLETED);
 
-        // Award loyalty points (10 points per guest)
+        // Award loyalty points (10 points per guest); the ledger insert is folded into
+        // the user's balance and tier by the background recompute job
         int points = reservation.getNumberOfGuests() * 10;
         reservation.setLoyaltyPointsEarned(points);
-        userService.addLoyaltyPoints(reservation.getUser().getId(), points);
         userService.updateUserStats(reservation.getUser().getId(), true, false);
 
         Reservation savedReservation = reservationRepository.save(reservation);
+        loyaltyService.recordEarned(savedReservation, points);
         return dtoMapper.toReservationDTO(savedReservation);
     }
 
@@ -301,12 +372,15 @@ public class ReservationService {
         // For admin-created reservations, we need to find or create a user
         User admin = userService.getUserEntityById(adminId);
 
-        RestaurantTable table = tableRepository.findById(request.getTableId())
-                .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
+        List<RestaurantTable> tables = request.getTableId() == null
+                ? tableAllocator.allocate(adminId, request.getReservationDate(), request.getReservationTime(),
+                        request.getNumberOfGuests(), request.getPreferredLocation())
+                : lockTables(requestedTableIds(request));
 
         Reservation reservation = Reservation.builder()
                 .user(admin) // Admin creates on behalf
-                .table(table)
+                .table(tables.get(0))
+                .joinedTables(new HashSet<>(tables.subList(1, tables.size())))
                 .customerName(request.getCustomerName())
                 .customerEmail(request.getCustomerEmail())
                 .customerPhone(request.getCustomerPhone())
@@ -317,6 +391,7 @@ public class ReservationService {
                 .status(ReservationStatus.CONFIRMED)
                 .loyaltyPointsEarned(0)
                 .build();
+        notificationService.markPassedReminders(reservation);
 
         Reservation savedReservation = reservationRepository.save(reservation);
 
@@ -325,4 +400,27 @@ public class ReservationService {
 
         return dtoMapper.toReservationDTO(savedReservation);
     }
+
+    // The requested table first, then any tables joined to it
+    private List<Long> requestedTableIds(CreateReservationRequest request) {
+        Set<Long> ids = new LinkedHashSet<>();
+        ids.add(request.getTableId());
+        if (request.getJoinedTableIds() != null) {
+            ids.addAll(request.getJoinedTableIds());
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Locks the tables in id order, so bookings of overlapping combinations can't deadlock,
+     * and returns them in the order given.
+     */
+    private List<RestaurantTable> lockTables(List<Long> tableIds) {
+        Map<Long, RestaurantTable> locked = new HashMap<>();
+        for (Long tableId : tableIds.stream().sorted().toList()) {
+            locked.put(tableId, tableRepository.findByIdForUpdate(tableId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Table not found")));
+        }
+        return tableIds.stream().map(locked::get).toList();
+    }
 }
@@ -0,0 +1,279 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.table.AvailabilityCalendarDTO;
+import com.quicktable.backend.dto.table.CalendarDayDTO;
+import com.quicktable.backend.dto.table.OpenTimeDTO;
+import com.quicktable.backend.dto.table.TableCombinationDTO;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.TableLocation;
+import com.quicktable.backend.entity.TableStatus;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Availability across whole service days in one pass. Active bookings in the range are loaded
+ * once as (table, date, time) rows and each bookable table gets one bitmask per day of the start
+ * times they block; a slot's open count is the number of seating tables whose bit is clear.
+ * As in {@link TableAllocator}, a slot with no such table falls back to free
+ * {@link TableCombinationService combinations}, checked against the same masks.
+ * Overlap follows {@link ReservationRepository#overlaps}: a booking blocks starts less than two
+ * hours either side.
+ */
+@Service
+public class SlotAvailabilityService {
+
+    // Combinations counted per slot; enough to tell "a few" from "plenty"
+    private static final int MAX_COMBINATIONS = 10;
+
+    private final TableCatalog tableCatalog;
+    private final ReservationRepository reservationRepository;
+    private final SlotHoldService slotHoldService;
+    private final TableCombinationService tableCombinationService;
+    private final int firstSlotMinute;
+    private final int slotMinutes;
+    private final int maxDays;
+    private final List<LocalTime> slots;
+    private final long allSlots;
+
+    public SlotAvailabilityService(TableCatalog tableCatalog,
+                                   ReservationRepository reservationRepository,
+                                   SlotHoldService slotHoldService,
+                                   TableCombinationService tableCombinationService,
+                                   @Value("${app.tables.service-day.first-slot:11:00}") String firstSlot,
+                                   @Value("${app.tables.service-day.last-slot:21:00}") String lastSlot,
+                                   @Value("${app.tables.service-day.slot-minutes:30}") int slotMinutes,
+                                   @Value("${app.tables.calendar.max-days:62}") int maxDays) {
+        this.tableCatalog = tableCatalog;
+        this.reservationRepository = reservationRepository;
+        this.slotHoldService = slotHoldService;
+        this.tableCombinationService = tableCombinationService;
+        this.firstSlotMinute = LocalTime.parse(firstSlot).toSecondOfDay() / 60;
+        this.slotMinutes = slotMinutes;
+        this.maxDays = maxDays;
+
+        int lastSlotMinute = LocalTime.parse(lastSlot).toSecondOfDay() / 60;
+        int count = (lastSlotMinute - firstSlotMinute) / slotMinutes + 1;
+        if (count < 1 || count > Long.SIZE) {
+            throw new IllegalStateException("app.tables.service-day must have between 1 and 64 slots, got " + count);
+        }
+        List<LocalTime> times = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            times.add(LocalTime.ofSecondOfDay((firstSlotMinute + (long) slot * slotMinutes) * 60));
+        }
+        this.slots = List.copyOf(times);
+        this.allSlots = count == Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    /**
+     * Open tables seating {@code guests} for every slot of every day from {@code from} to
+     * {@code to}, leaving out tables held by someone other than {@code userId} (nullable). A slot
+     * with no such table counts its free combinations instead. Past slots count as closed.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityCalendarDTO getCalendar(LocalDate from, LocalDate to, int guests, Long userId) {
+        if (guests < 1) {
+            throw new BadRequestException("At least 1 guest is required");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("The end date must not be before the start date");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new BadRequestException("At most " + maxDays + " days can be requested at once");
+        }
+
+        List<TableDTO> tables = bookableTables();
+        Map<Long, Integer> indexById = indexById(tables);
+        long[][] blocked = occupancy(from, to, indexById, userId);
+
+        List<CalendarDayDTO> calendar = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = from.plusDays(day);
+            int[] open = new int[slots.size()];
+            long closed = closedSlots(date);
+            for (int table = 0; table < tables.size(); table++) {
+                if (tables.get(table).getCapacity() < guests) {
+                    continue;
+                }
+                long free = ~(blocked[day][table] | closed) & allSlots;
+                while (free != 0) {
+                    open[Long.numberOfTrailingZeros(free)]++;
+                    free &= free - 1;
+                }
+            }
+            for (int slot = 0; slot < open.length; slot++) {
+                if (open[slot] == 0 && (closed & (1L << slot)) == 0) {
+                    open[slot] = freeCombinations(guests, indexById, blocked[day], slot).size();
+                }
+            }
+
+            List<Integer> counts = new ArrayList<>(open.length);
+            for (int count : open) {
+                counts.add(count);
+            }
+            calendar.add(CalendarDayDTO.builder().date(date).open(counts).build());
+        }
+
+        return AvailabilityCalendarDTO.builder()
+                .from(from)
+                .to(to)
+                .guests(guests)
+                .slots(slots)
+                .days(calendar)
+                .build();
+    }
+
+    /**
+     * Every start time on {@code date} at which some table seats {@code guests}, with how many
+     * tables are free, the best-fit size and a per-location breakdown. Where no single table is
+     * free the party can still book the free combinations, which are counted in their place.
+     */
+    @Transactional(readOnly = true)
+    public List<OpenTimeDTO> getOpenTimes(LocalDate date, int guests, Long userId) {
+        if (guests < 1) {
+            throw new BadRequestException("At least 1 guest is required");
+        }
+
+        List<TableDTO> tables = bookableTables();
+        Map<Long, Integer> indexById = indexById(tables);
+        long[] blocked = occupancy(date, date, indexById, userId)[0];
+        long closed = closedSlots(date);
+
+        List<OpenTimeDTO> openTimes = new ArrayList<>();
+        for (int slot = 0; slot < slots.size(); slot++) {
+            long bit = 1L << slot;
+            if ((closed & bit) != 0) {
+                continue;
+            }
+            int free = 0;
+            int bestFit = Integer.MAX_VALUE;
+            Map<TableLocation, Integer> byLocation = new EnumMap<>(TableLocation.class);
+            for (int table = 0; table < tables.size(); table++) {
+                TableDTO candidate = tables.get(table);
+                if (candidate.getCapacity() >= guests && (blocked[table] & bit) == 0) {
+                    free++;
+                    bestFit = Math.min(bestFit, candidate.getCapacity());
+                    byLocation.merge(candidate.getLocation(), 1, Integer::sum);
+                }
+            }
+            if (free > 0) {
+                openTimes.add(OpenTimeDTO.builder()
+                        .time(slots.get(slot))
+                        .tables(free)
+                        .combinations(0)
+                        .bestFitCapacity(bestFit)
+                        .byLocation(byLocation)
+                        .build());
+                continue;
+            }
+
+            // Best first, so the first one is what the allocator would assign
+            List<TableCombinationDTO> combinations = freeCombinations(guests, indexById, blocked, slot);
+            if (!combinations.isEmpty()) {
+                for (TableCombinationDTO combination : combinations) {
+                    byLocation.merge(combination.getLocation(), 1, Integer::sum);
+                }
+                openTimes.add(OpenTimeDTO.builder()
+                        .time(slots.get(slot))
+                        .tables(0)
+                        .combinations(combinations.size())
+                        .bestFitCapacity(combinations.get(0).getCapacity())
+                        .byLocation(byLocation)
+                        .build());
+            }
+        }
+        return openTimes;
+    }
+
+    private List<TableDTO> bookableTables() {
+        return tableCatalog.current().tables().stream()
+                .filter(table -> table.getStatus() != TableStatus.MAINTENANCE)
+                .toList();
+    }
+
+    private static Map<Long, Integer> indexById(List<TableDTO> tables) {
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < tables.size(); i++) {
+            indexById.put(tables.get(i).getId(), i);
+        }
+        return indexById;
+    }
+
+    // Combinations whose tables are all clear in the slot; a table missing from the index is in maintenance
+    private List<TableCombinationDTO> freeCombinations(int guests, Map<Long, Integer> indexById, long[] blocked,
+                                                       int slot) {
+        long bit = 1L << slot;
+        return tableCombinationService.findFree(guests, tableId -> {
+            Integer table = indexById.get(tableId);
+            return table != null && (blocked[table] & bit) == 0;
+        }, MAX_COMBINATIONS);
+    }
+
+    /**
+     * Blocked-slot masks indexed by day (from {@code from}) and by table position in {@code indexById}.
+     */
+    private long[][] occupancy(LocalDate from, LocalDate to, Map<Long, Integer> indexById, Long userId) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        long[][] blocked = new long[days][indexById.size()];
+
+        List<ReservationRepository.DatedSlot> booked = new ArrayList<>(reservationRepository.findBookedSlotsBetween(from, to));
+        booked.addAll(reservationRepository.findJoinedBookedSlotsBetween(from, to));
+        for (ReservationRepository.DatedSlot slot : booked) {
+            Integer table = indexById.get(slot.getTableId());
+            if (table != null) {
+                blocked[(int) ChronoUnit.DAYS.between(from, slot.getReservationDate())][table] |=
+                        blockedBy(slot.getReservationTime());
+            }
+        }
+
+        for (int day = 0; day < days; day++) {
+            for (SlotHoldService.Slot held : slotHoldService.heldSlots(from.plusDays(day), userId)) {
+                Integer table = indexById.get(held.tableId());
+                if (table != null) {
+                    blocked[day][table] |= blockedBy(held.time());
+                }
+            }
+        }
+        return blocked;
+    }
+
+    // Slots starting less than a booking length before or after a booking at this time
+    private long blockedBy(LocalTime time) {
+        int minute = time.toSecondOfDay() / 60 - firstSlotMinute;
+        int window = ReservationRepository.SLOT_MINUTES;
+        int first = Math.max(0, Math.floorDiv(minute - window, slotMinutes) + 1);
+        int last = Math.min(slots.size() - 1, -Math.floorDiv(-(minute + window), slotMinutes) - 1);
+        if (first > last) {
+            return 0L;
+        }
+        return (-1L >>> (Long.SIZE - 1 - (last - first))) << first;
+    }
+
+    private long closedSlots(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            return allSlots;
+        }
+        if (date.isAfter(today)) {
+            return 0L;
+        }
+        LocalTime now = LocalTime.now();
+        long closed = 0L;
+        for (int slot = 0; slot < slots.size() && !slots.get(slot).isAfter(now); slot++) {
+            closed |= 1L << slot;
+        }
+        return closed;
+    }
+}
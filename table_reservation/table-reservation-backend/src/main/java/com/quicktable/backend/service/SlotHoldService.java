@@ -0,0 +1,251 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.reservation.SlotHoldDTO;
+import com.quicktable.backend.dto.reservation.SlotHoldRequest;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.TableStatus;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.exception.ResourceNotFoundException;
+import com.quicktable.backend.exception.TooManyRequestsException;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.repository.ReservationRepository;
+import com.quicktable.backend.scheduling.NodeLocalJob;
+import com.quicktable.backend.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived holds on a (table, date, time) slot while a customer fills in the booking form.
+ * Held slots are hidden from other customers' availability searches and refused at booking
+ * before any database work; the holder's own booking converts the hold once it commits.
+ * <p>
+ * Holds live in memory on this node only. Reads are lock-free; the rare writes (place, release,
+ * convert, expire) are serialized on this service. Expired holds are ignored on read and
+ * removed in deadline order from a {@link DelayQueue}.
+ */
+@Slf4j
+@Service
+public class SlotHoldService {
+
+    public record Slot(Long tableId, LocalDate date, LocalTime time) {
+    }
+
+    public record Hold(String id, Long userId, Slot slot, long expiresAtMillis) {
+
+        boolean isLive(long nowMillis) {
+            return expiresAtMillis > nowMillis;
+        }
+    }
+
+    private record Expiry(String holdId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((Expiry) other).expiresAtMillis);
+        }
+    }
+
+    private final TableCatalog tableCatalog;
+    private final ReservationRepository reservationRepository;
+    private final QuickTableMetrics metrics;
+    private final long ttlMillis;
+    private final int maxPerUser;
+    private final int maxHolds;
+
+    private final Map<LocalDate, Map<Slot, Hold>> holdsByDate = new ConcurrentHashMap<>();
+    private final Map<String, Hold> holdsById = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> holdsPerUser = new HashMap<>();
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+
+    public SlotHoldService(TableCatalog tableCatalog,
+                           ReservationRepository reservationRepository,
+                           QuickTableMetrics metrics,
+                           @Value("${app.holds.ttl-ms:120000}") long ttlMillis,
+                           @Value("${app.holds.max-per-user:2}") int maxPerUser,
+                           @Value("${app.holds.max-holds:10000}") int maxHolds) {
+        this.tableCatalog = tableCatalog;
+        this.reservationRepository = reservationRepository;
+        this.metrics = metrics;
+        this.ttlMillis = ttlMillis;
+        this.maxPerUser = maxPerUser;
+        this.maxHolds = maxHolds;
+    }
+
+    /**
+     * Holds the slot for {@code userId}, or renews the hold they already have on it.
+     */
+    public SlotHoldDTO placeHold(Long userId, SlotHoldRequest request) {
+        Slot slot = new Slot(request.getTableId(), request.getReservationDate(), request.getReservationTime());
+
+        TableDTO table = tableCatalog.current().tables().stream()
+                .filter(candidate -> candidate.getId().equals(slot.tableId()))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
+        if (table.getStatus() == TableStatus.MAINTENANCE) {
+            throw new BadRequestException("This table is not available for booking");
+        }
+        if (reservationRepository.isTableBooked(slot.tableId(), slot.date(), slot.time())) {
+            throw new BadRequestException("This table is already reserved for the selected time slot");
+        }
+
+        Hold hold;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Hold existing = liveHold(slot, now);
+            if (existing != null && !existing.userId().equals(userId)) {
+                metrics.slotHold("rejected");
+                throw new BadRequestException("This time slot is being held by another guest, please try again shortly");
+            }
+            if (existing != null) {
+                remove(existing);
+            } else if (holdsPerUser.getOrDefault(userId, 0) >= maxPerUser) {
+                throw new BadRequestException("You can hold at most " + maxPerUser + " time slots at once");
+            } else if (holdsById.size() >= maxHolds) {
+                throw new TooManyRequestsException("Too many bookings in progress, please try again shortly", 5);
+            }
+
+            hold = new Hold(UUID.randomUUID().toString(), userId, slot, now + ttlMillis);
+            holdsByDate.computeIfAbsent(slot.date(), date -> new ConcurrentHashMap<>()).put(slot, hold);
+            holdsById.put(hold.id(), hold);
+            holdsPerUser.merge(userId, 1, Integer::sum);
+            expiries.add(new Expiry(hold.id(), hold.expiresAtMillis()));
+        }
+        metrics.slotHold("placed");
+        return toDTO(hold);
+    }
+
+    public synchronized void releaseHold(Long userId, String holdId) {
+        Hold hold = holdsById.get(holdId);
+        if (hold == null || !hold.userId().equals(userId)) {
+            throw new ResourceNotFoundException("Hold not found");
+        }
+        remove(hold);
+        metrics.slotHold("released");
+    }
+
+    /**
+     * Refuses a booking for a slot someone else holds. A hold owned by {@code userId} is
+     * converted: it stays in place until the booking commits, then goes away.
+     */
+    public void checkForBooking(Long userId, Long tableId, LocalDate date, LocalTime time) {
+        Hold hold = liveHold(new Slot(tableId, date, time), System.currentTimeMillis());
+        if (hold == null) {
+            return;
+        }
+        if (!hold.userId().equals(userId)) {
+            metrics.slotHold("rejected");
+            throw new BadRequestException("This time slot is being held by another guest, please try again shortly");
+        }
+        AfterCommit.run(() -> convert(hold));
+    }
+
+    /**
+     * Tables held by someone other than {@code userId} for a slot between {@code from} and
+     * {@code to} (inclusive, like the availability query) on {@code date}.
+     */
+    public Set<Long> heldTableIds(LocalDate date, LocalTime from, LocalTime to, Long userId) {
+        Map<Slot, Hold> holds = holdsByDate.get(date);
+        if (holds == null || holds.isEmpty()) {
+            return Set.of();
+        }
+        long now = System.currentTimeMillis();
+        return holds.values().stream()
+                .filter(hold -> hold.isLive(now) && !hold.userId().equals(userId))
+                .filter(hold -> !hold.slot().time().isBefore(from) && !hold.slot().time().isAfter(to))
+                .map(hold -> hold.slot().tableId())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Slots on {@code date} held by someone other than {@code userId}.
+     */
+    public List<Slot> heldSlots(LocalDate date, Long userId) {
+        Map<Slot, Hold> holds = holdsByDate.get(date);
+        if (holds == null || holds.isEmpty()) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        return holds.values().stream()
+                .filter(hold -> hold.isLive(now) && !hold.userId().equals(userId))
+                .map(Hold::slot)
+                .toList();
+    }
+
+    public int activeHolds() {
+        return holdsById.size();
+    }
+
+    @NodeLocalJob
+    @Scheduled(fixedDelayString = "${app.holds.sweep-interval-ms:1000}")
+    public void removeExpired() {
+        Expiry expiry;
+        while ((expiry = expiries.poll()) != null) {
+            synchronized (this) {
+                Hold hold = holdsById.get(expiry.holdId());
+                if (hold != null && !hold.isLive(System.currentTimeMillis())) {
+                    remove(hold);
+                    metrics.slotHold("expired");
+                }
+            }
+        }
+    }
+
+    private synchronized void convert(Hold hold) {
+        if (holdsById.get(hold.id()) == hold) {
+            remove(hold);
+            metrics.slotHold("converted");
+        }
+    }
+
+    private Hold liveHold(Slot slot, long nowMillis) {
+        Map<Slot, Hold> holds = holdsByDate.get(slot.date());
+        Hold hold = holds != null ? holds.get(slot) : null;
+        return hold != null && hold.isLive(nowMillis) ? hold : null;
+    }
+
+    // Callers hold the monitor
+    private void remove(Hold hold) {
+        holdsById.remove(hold.id());
+        holdsPerUser.computeIfPresent(hold.userId(), (user, count) -> count > 1 ? count - 1 : null);
+        Map<Slot, Hold> holds = holdsByDate.get(hold.slot().date());
+        if (holds != null) {
+            holds.remove(hold.slot(), hold);
+            if (holds.isEmpty()) {
+                holdsByDate.remove(hold.slot().date());
+            }
+        }
+    }
+
+    private SlotHoldDTO toDTO(Hold hold) {
+        return SlotHoldDTO.builder()
+                .holdId(hold.id())
+                .tableId(hold.slot().tableId())
+                .reservationDate(hold.slot().date())
+                .reservationTime(hold.slot().time())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMillis()), ZoneId.systemDefault()))
+                .build();
+    }
+}
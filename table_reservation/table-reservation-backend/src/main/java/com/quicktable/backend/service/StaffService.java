@@ -29,12 +29,14 @@ public class StaffService {
     private final PasswordEncoder passwordEncoder;
     private final DtoMapper dtoMapper;
 
+    @Transactional(readOnly = true)
     public List<StaffDTO> getAllStaff() {
         return staffRepository.findAll().stream()
                 .map(dtoMapper::toStaffDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<StaffDTO> getAllStaffPaged(int page, int size, String search) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Staff> staffPage;
@@ -52,18 +54,21 @@ public class StaffService {
         return PagedResponse.of(dtos, page, size, staffPage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
     public StaffDTO getStaffById(Long id) {
         Staff staff = staffRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Staff not found"));
         return dtoMapper.toStaffDTO(staff);
     }
 
+    @Transactional(readOnly = true)
     public StaffDTO getStaffByEmail(String email) {
         Staff staff = staffRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Staff not found"));
         return dtoMapper.toStaffDTO(staff);
     }
 
+    @Transactional(readOnly = true)
     public List<StaffDTO> getStaffByRole(Role role) {
         return staffRepository.findByRole(role).stream()
                 .map(dtoMapper::toStaffDTO)
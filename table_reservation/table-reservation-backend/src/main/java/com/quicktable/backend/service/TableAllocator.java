@@ -0,0 +1,192 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.table.TableCombinationDTO;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.RestaurantTable;
+import com.quicktable.backend.entity.TableLocation;
+import com.quicktable.backend.entity.TableStatus;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.repository.ReservationRepository;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Picks a table for a booking that didn't name one: the smallest table that seats the party,
+ * preferring the requested location, that is free for the whole two-hour slot. Parties no free
+ * table seats get the best free {@link TableCombinationService combination} instead.
+ * <p>
+ * Candidates are ranked in memory from the table catalog and one query for the day's bookings.
+ * While a booking transaction is running its pick is also recorded here, so concurrent
+ * allocations go to the next-best table instead of queueing on the same row lock. The pick is
+ * then locked and re-checked in the database, which is what actually guarantees no double booking.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TableAllocator {
+
+    // Free combinations considered per booking; each costs a few row locks at most
+    private static final int COMBINATIONS_TRIED = 20;
+
+    private final TableCatalog tableCatalog;
+    private final RestaurantTableRepository tableRepository;
+    private final ReservationRepository reservationRepository;
+    private final SlotHoldService slotHoldService;
+    private final TableCombinationService tableCombinationService;
+    private final QuickTableMetrics metrics;
+
+    private record Claim(Long tableId, LocalDate date, LocalTime time) {
+    }
+
+    // Picks made by booking transactions that have not finished yet
+    private final Set<Claim> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the chosen tables, locked for the rest of the surrounding booking transaction: a
+     * single table when one seats the party, otherwise the best free combination (the first
+     * table is the reservation's, the rest are joined to it).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<RestaurantTable> allocate(Long userId, LocalDate date, LocalTime time, int guests,
+                                          TableLocation preferredLocation) {
+        Map<Long, List<LocalTime>> booked = bookedTimes(date);
+        Set<Long> held = slotHoldService.heldTableIds(date, ReservationRepository.overlapWindowStart(time),
+                ReservationRepository.overlapWindowEnd(time), userId);
+
+        int tried = 0;
+        for (TableDTO candidate : rankCandidates(booked, held, time, guests, preferredLocation)) {
+            Claim claim = new Claim(candidate.getId(), date, time);
+            if (!tryClaim(claim)) {
+                continue;
+            }
+            AfterCommit.runAfterCompletion(() -> inFlight.remove(claim));
+            tried++;
+
+            RestaurantTable table = lockIfFree(candidate.getId(), date, time, guests);
+            if (table != null) {
+                metrics.tableAllocated(true, tried);
+                return List.of(table);
+            }
+            // Booked (or changed) since the day's bookings were read; the claim is dropped at completion
+            log.debug("Table {} no longer free for {} {}, trying the next one", candidate.getId(), date, time);
+        }
+
+        Predicate<Long> isFree = tableId -> !held.contains(tableId)
+                && booked.getOrDefault(tableId, List.of()).stream().noneMatch(other -> ReservationRepository.overlaps(other, time));
+        for (TableCombinationDTO combination : rankCombinations(guests, isFree, preferredLocation)) {
+            List<Claim> claims = combination.getTableIds().stream().map(id -> new Claim(id, date, time)).toList();
+            if (!tryClaimAll(claims)) {
+                continue;
+            }
+            AfterCommit.runAfterCompletion(() -> claims.forEach(inFlight::remove));
+            tried += claims.size();
+
+            // Locked in id order so two overlapping combinations can't deadlock
+            List<RestaurantTable> tables = new ArrayList<>();
+            for (Long tableId : combination.getTableIds().stream().sorted().toList()) {
+                RestaurantTable table = lockIfFree(tableId, date, time, 1);
+                if (table == null) {
+                    break;
+                }
+                tables.add(table);
+            }
+            if (tables.size() == claims.size()
+                    && tables.stream().mapToInt(RestaurantTable::getCapacity).sum() >= guests) {
+                metrics.tableAllocated(true, tried);
+                return tables;
+            }
+        }
+
+        metrics.tableAllocated(false, tried);
+        throw new BadRequestException("No table is available for " + guests + " guests at the selected time");
+    }
+
+    /**
+     * Free tables that seat the party, best fit first: requested location, then fewest spare
+     * seats, then table number so the order is stable.
+     */
+    List<TableDTO> rankCandidates(Map<Long, List<LocalTime>> booked, Set<Long> held, LocalTime time, int guests,
+                                  TableLocation preferredLocation) {
+        return tableCatalog.current().tables().stream()
+                .filter(table -> table.getStatus() != TableStatus.MAINTENANCE)
+                .filter(table -> table.getCapacity() >= guests)
+                .filter(table -> !held.contains(table.getId()))
+                .filter(table -> booked.getOrDefault(table.getId(), List.of()).stream()
+                        .noneMatch(other -> ReservationRepository.overlaps(other, time)))
+                .sorted(Comparator
+                        .comparing((TableDTO table) -> preferredLocation != null && table.getLocation() != preferredLocation)
+                        .thenComparing(TableDTO::getCapacity)
+                        .thenComparing(TableDTO::getTableNumber))
+                .toList();
+    }
+
+    private List<TableCombinationDTO> rankCombinations(int guests, Predicate<Long> isFree,
+                                                       TableLocation preferredLocation) {
+        List<TableCombinationDTO> free = tableCombinationService.findFree(guests, isFree, COMBINATIONS_TRIED);
+        if (preferredLocation == null) {
+            return free;
+        }
+        // Stable sort: keeps the best-fit order within each group
+        return free.stream()
+                .sorted(Comparator.comparing(combination -> combination.getLocation() != preferredLocation))
+                .toList();
+    }
+
+    private Map<Long, List<LocalTime>> bookedTimes(LocalDate date) {
+        Map<Long, List<LocalTime>> booked = new HashMap<>();
+        for (ReservationRepository.BookedSlot slot : reservationRepository.findBookedSlots(date)) {
+            booked.computeIfAbsent(slot.getTableId(), id -> new ArrayList<>()).add(slot.getReservationTime());
+        }
+        for (ReservationRepository.BookedSlot slot : reservationRepository.findJoinedBookedSlots(date)) {
+            booked.computeIfAbsent(slot.getTableId(), id -> new ArrayList<>()).add(slot.getReservationTime());
+        }
+        return booked;
+    }
+
+    private RestaurantTable lockIfFree(Long tableId, LocalDate date, LocalTime time, int minCapacity) {
+        RestaurantTable table = tableRepository.findByIdForUpdate(tableId).orElse(null);
+        if (table == null || table.getStatus() == TableStatus.MAINTENANCE || table.getCapacity() < minCapacity
+                || reservationRepository.isTableBooked(tableId, date, time)) {
+            return null;
+        }
+        return table;
+    }
+
+    private synchronized boolean tryClaimAll(List<Claim> claims) {
+        for (int i = 0; i < claims.size(); i++) {
+            if (!tryClaim(claims.get(i))) {
+                claims.subList(0, i).forEach(inFlight::remove);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized boolean tryClaim(Claim claim) {
+        for (Claim other : inFlight) {
+            if (other.tableId().equals(claim.tableId()) && other.date().equals(claim.date())
+                    && ReservationRepository.overlaps(other.time(), claim.time())) {
+                return false;
+            }
+        }
+        return inFlight.add(claim);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.quicktable.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quicktable.backend.dto.common.ApiResponse;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.util.AfterCommit;
+import com.quicktable.backend.util.DtoMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, in-memory snapshot of the floor plan. Table writes go through {@link TableService},
+ * which calls {@link #invalidate()}; the next read rebuilds the snapshot once and every request
+ * until the following write is served from memory with the same body and ETag.
+ * Snapshots are also re-checked every {@code app.tables.catalog-refresh-ms} so edits made by
+ * another instance (or directly in the database) show up without a restart.
+ */
+@Slf4j
+@Component
+public class TableCatalog {
+
+    private final RestaurantTableRepository tableRepository;
+    private final DtoMapper dtoMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long refreshNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public TableCatalog(RestaurantTableRepository tableRepository,
+                        DtoMapper dtoMapper,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.tables.catalog-refresh-ms:60000}") long refreshMillis) {
+        this.tableRepository = tableRepository;
+        this.dtoMapper = dtoMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshNanos = refreshMillis * 1_000_000L;
+    }
+
+    /**
+     * The response body, its strong ETag and the table list are fixed for the snapshot's lifetime,
+     * so the DTOs must be treated as read-only.
+     */
+    public record Snapshot(ApiResponse<List<TableDTO>> response, String etag,
+                           String contentHash, long generation, long loadedAtNanos) {
+
+        public List<TableDTO> tables() {
+            return response.getData();
+        }
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long loadingGeneration = generation.get();
+            Snapshot loaded = load(current, loadingGeneration);
+            // A write committed while we were loading: serve what we read, but don't keep it.
+            if (generation.get() == loadingGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Drops the snapshot once the surrounding transaction commits, so a concurrent reader can
+     * never cache rows that were read before the write became visible.
+     */
+    public void invalidate() {
+        AfterCommit.run(generation::incrementAndGet);
+    }
+
+    private boolean isFresh(Snapshot candidate) {
+        return candidate != null
+                && candidate.generation() == generation.get()
+                && System.nanoTime() - candidate.loadedAtNanos() < refreshNanos;
+    }
+
+    private Snapshot load(Snapshot previous, long loadingGeneration) {
+        List<TableDTO> tables = readOnlyTransaction.execute(status ->
+                tableRepository.findAll(Sort.by("id")).stream()
+                        .map(dtoMapper::toTableDTO)
+                        .toList());
+        String contentHash = hash(tables);
+
+        // Same rows as before: keep the old body (and timestamp) so clients keep getting 304s.
+        if (previous != null && previous.contentHash().equals(contentHash)) {
+            return new Snapshot(previous.response(), previous.etag(), contentHash,
+                    loadingGeneration, System.nanoTime());
+        }
+
+        ApiResponse<List<TableDTO>> response = ApiResponse.<List<TableDTO>>builder()
+                .success(true)
+                .data(tables)
+                .timestamp(LocalDateTime.now())
+                .build();
+        String etag = "\"" + hash(response) + "\"";
+        log.debug("Table catalog rebuilt: {} tables, ETag {}", tables.size(), etag);
+        return new Snapshot(response, etag, contentHash, loadingGeneration, System.nanoTime());
+    }
+
+    private String hash(Object value) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize table catalog", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.table.TableCombinationDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Table combinations for parties no single table seats. The adjacency graph and the ranked
+ * combinations per party size depend only on the floor plan, so they are computed once per
+ * {@link TableCatalog} snapshot (keyed by its content hash) and reused until a table changes;
+ * a request then only filters the memoized list by which tables are free.
+ */
+@Component
+public class TableCombinationService {
+
+    private final TableCatalog tableCatalog;
+    private final double maxDistance;
+    private final int maxTables;
+    private final int searchBudget;
+
+    private volatile Layout layout;
+
+    public TableCombinationService(TableCatalog tableCatalog,
+                                   @Value("${app.tables.combinations.max-distance:150}") double maxDistance,
+                                   @Value("${app.tables.combinations.max-tables:4}") int maxTables,
+                                   @Value("${app.tables.combinations.search-budget:200000}") int searchBudget) {
+        this.tableCatalog = tableCatalog;
+        this.maxDistance = maxDistance;
+        this.maxTables = maxTables;
+        this.searchBudget = searchBudget;
+    }
+
+    private record Layout(String contentHash, FloorPlan floorPlan,
+                          Map<Integer, List<FloorPlan.Combination>> byGuests) {
+    }
+
+    /**
+     * Up to {@code limit} of the best combinations for {@code guests} whose tables all pass
+     * {@code isFree}.
+     */
+    public List<TableCombinationDTO> findFree(int guests, Predicate<Long> isFree, int limit) {
+        Layout current = currentLayout();
+        List<FloorPlan.Combination> combinations = current.byGuests().computeIfAbsent(guests,
+                size -> current.floorPlan().combinationsFor(size, maxTables, searchBudget));
+
+        List<TableCombinationDTO> free = new ArrayList<>();
+        for (FloorPlan.Combination combination : combinations) {
+            if (current.floorPlan().allMatch(combination, isFree)) {
+                free.add(current.floorPlan().toDTO(combination));
+                if (free.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return free;
+    }
+
+    public boolean isCombination(Collection<Long> tableIds) {
+        return tableIds.size() <= maxTables && currentLayout().floorPlan().isConnected(tableIds);
+    }
+
+    private Layout currentLayout() {
+        TableCatalog.Snapshot snapshot = tableCatalog.current();
+        Layout current = layout;
+        if (current == null || !current.contentHash().equals(snapshot.contentHash())) {
+            current = new Layout(snapshot.contentHash(), FloorPlan.of(snapshot.tables(), maxDistance),
+                    new ConcurrentHashMap<>());
+            layout = current;
+        }
+        return current;
+    }
+}
@@ -5,14 +5,18 @@ import com.quicktable.backend.entity.RestaurantTable;
 import com.quicktable.backend.entity.TableStatus;
 import com.quicktable.backend.exception.BadRequestException;
 import com.quicktable.backend.exception.ResourceNotFoundException;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.repository.ReservationRepository;
 import com.quicktable.backend.repository.RestaurantTableRepository;
 import com.quicktable.backend.util.DtoMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,21 +24,32 @@ import java.util.stream.Collectors;
 @SuppressWarnings("null")
 public class TableService {
 
+    private static final int MAX_COMBINATIONS = 10;
+
     private final RestaurantTableRepository tableRepository;
+    private final ReservationRepository reservationRepository;
+    private final TableCatalog tableCatalog;
+    private final SlotHoldService slotHoldService;
+    private final TableCombinationService tableCombinationService;
     private final DtoMapper dtoMapper;
+    private final QuickTableMetrics metrics;
 
     public List<TableDTO> getAllTables() {
-        return tableRepository.findAll().stream()
-                .map(dtoMapper::toTableDTO)
-                .collect(Collectors.toList());
+        return tableCatalog.current().tables();
     }
 
+    public TableCatalog.Snapshot getTableCatalog() {
+        return tableCatalog.current();
+    }
+
+    @Transactional(readOnly = true)
     public TableDTO getTableById(Long id) {
         RestaurantTable table = tableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
         return dtoMapper.toTableDTO(table);
     }
 
+    @Transactional(readOnly = true)
     public TableDTO getTableByNumber(Integer tableNumber) {
         RestaurantTable table = tableRepository.findByTableNumber(tableNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
@@ -42,9 +57,20 @@ public class TableService {
     }
 
     public List<TableDTO> getAvailableTables(AvailableTablesRequest request) {
-        // Assuming 2-hour reservation window
-        LocalTime startTime = request.getTime();
-        LocalTime endTime = startTime.plusHours(2);
+        return getAvailableTables(request, null);
+    }
+
+    /**
+     * Tables free at the requested time, leaving out those another customer is holding;
+     * {@code userId} (nullable) still sees their own holds.
+     */
+    @Transactional(readOnly = true)
+    public List<TableDTO> getAvailableTables(AvailableTablesRequest request, Long userId) {
+        Timer.Sample sample = metrics.start();
+
+        // Starts of bookings whose two-hour slot would overlap one at the requested time
+        LocalTime startTime = ReservationRepository.overlapWindowStart(request.getTime());
+        LocalTime endTime = ReservationRepository.overlapWindowEnd(request.getTime());
 
         List<RestaurantTable> availableTables = tableRepository.findAvailableTables(
                 request.getDate(),
@@ -53,11 +79,36 @@ public class TableService {
                 request.getGuests()
         );
 
-        return availableTables.stream()
+        Set<Long> heldTableIds = slotHoldService.heldTableIds(request.getDate(), startTime, endTime, userId);
+
+        List<TableDTO> result = availableTables.stream()
+                .filter(table -> !heldTableIds.contains(table.getId()))
                 .map(dtoMapper::toTableDTO)
                 .collect(Collectors.toList());
+
+        metrics.availabilitySearched(sample, result.size());
+        return result;
+    }
+
+    /**
+     * Combinations of adjacent tables that are all free (and not held by someone else) at the
+     * requested time, fewest tables first.
+     */
+    @Transactional(readOnly = true)
+    public List<TableCombinationDTO> getAvailableCombinations(AvailableTablesRequest request, Long userId) {
+        LocalTime startTime = ReservationRepository.overlapWindowStart(request.getTime());
+        LocalTime endTime = ReservationRepository.overlapWindowEnd(request.getTime());
+
+        Set<Long> heldTableIds = slotHoldService.heldTableIds(request.getDate(), startTime, endTime, userId);
+        Set<Long> freeTableIds = tableRepository.findAvailableTables(request.getDate(), startTime, endTime, 1).stream()
+                .map(RestaurantTable::getId)
+                .filter(id -> !heldTableIds.contains(id))
+                .collect(Collectors.toSet());
+
+        return tableCombinationService.findFree(request.getGuests(), freeTableIds::contains, MAX_COMBINATIONS);
     }
 
+    @Transactional(readOnly = true)
     public List<TableDTO> getTablesByStatus(TableStatus status) {
         return tableRepository.findByStatus(status).stream()
                 .map(dtoMapper::toTableDTO)
@@ -82,6 +133,7 @@ public class TableService {
                 .build();
 
         RestaurantTable savedTable = tableRepository.save(table);
+        tableCatalog.invalidate();
         return dtoMapper.toTableDTO(savedTable);
     }
 
@@ -120,6 +172,7 @@ public class TableService {
         }
 
         RestaurantTable savedTable = tableRepository.save(table);
+        tableCatalog.invalidate();
         return dtoMapper.toTableDTO(savedTable);
     }
 
@@ -130,6 +183,7 @@ public class TableService {
 
         table.setStatus(status);
         RestaurantTable savedTable = tableRepository.save(table);
+        tableCatalog.invalidate();
         return dtoMapper.toTableDTO(savedTable);
     }
 
@@ -138,25 +192,31 @@ public class TableService {
         RestaurantTable table = tableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
 
-        if (!table.getReservations().isEmpty()) {
+        if (reservationRepository.existsByTableId(table.getId())
+                || reservationRepository.existsByJoinedTablesId(table.getId())) {
             throw new BadRequestException("Cannot delete table with existing reservations");
         }
 
         tableRepository.delete(table);
+        tableCatalog.invalidate();
     }
 
+    @Transactional(readOnly = true)
     public Long getTotalTables() {
         return tableRepository.countAllTables();
     }
 
+    @Transactional(readOnly = true)
     public Long getAvailableTablesCount() {
         return tableRepository.countByStatus(TableStatus.AVAILABLE);
     }
 
+    @Transactional(readOnly = true)
     public Long getOccupiedTablesCount() {
         return tableRepository.countByStatus(TableStatus.OCCUPIED);
     }
 
+    @Transactional(readOnly = true)
     public Double getOccupancyRate() {
         long total = getTotalTables();
         if (total == 0) return 0.0;
@@ -4,7 +4,6 @@ import com.quicktable.backend.dto.auth.ChangePasswordRequest;
 import com.quicktable.backend.dto.user.UpdateProfileRequest;
 import com.quicktable.backend.dto.user.UserDTO;
 import com.quicktable.backend.dto.common.PagedResponse;
-import com.quicktable.backend.entity.LoyaltyTier;
 import com.quicktable.backend.entity.Role;
 import com.quicktable.backend.entity.User;
 import com.quicktable.backend.exception.BadRequestException;
@@ -33,12 +32,14 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final DtoMapper dtoMapper;
 
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         return dtoMapper.toUserDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
@@ -110,6 +111,7 @@ public class UserService {
         userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<UserDTO> getAllCustomers(int page, int size, String search) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<User> users;
@@ -127,20 +129,13 @@ public class UserService {
         return PagedResponse.of(userDTOs, page, size, users.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllCustomersList() {
         return userRepository.findByRole(Role.USER).stream()
                 .map(dtoMapper::toUserDTO)
                 .collect(Collectors.toList());
     }
 
-    @Transactional
-    public void addLoyaltyPoints(Long userId, int points) {
-        User user = getUserEntityById(userId);
-        user.setLoyaltyPoints(user.getLoyaltyPoints() + points);
-        updateLoyaltyTier(user);
-        userRepository.save(user);
-    }
-
     @Transactional
     public void updateUserStats(Long userId, boolean completed, boolean cancelled) {
         User user = getUserEntityById(userId);
@@ -157,24 +152,13 @@ public class UserService {
         userRepository.save(user);
     }
 
-    private void updateLoyaltyTier(User user) {
-        int points = user.getLoyaltyPoints();
-        if (points >= 1000) {
-            user.setLoyaltyTier(LoyaltyTier.PLATINUM);
-        } else if (points >= 500) {
-            user.setLoyaltyTier(LoyaltyTier.GOLD);
-        } else if (points >= 200) {
-            user.setLoyaltyTier(LoyaltyTier.SILVER);
-        } else {
-            user.setLoyaltyTier(LoyaltyTier.BRONZE);
-        }
-    }
-
+    @Transactional(readOnly = true)
     public Long countNewCustomersToday() {
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
         return userRepository.countNewUsersSince(Role.USER, startOfDay);
     }
 
+    @Transactional(readOnly = true)
     public Long getTotalCustomers() {
         return userRepository.countByRole(Role.USER);
     }
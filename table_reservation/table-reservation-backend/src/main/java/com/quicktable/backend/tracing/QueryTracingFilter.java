@@ -0,0 +1,132 @@
+package com.quicktable.backend.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Opens a {@link RequestQueryStats} per request, reports it in a {@code Server-Timing} header and
+ * logs a warning when the request crosses the configured statement-count or DB-time thresholds.
+ */
+@Slf4j
+public class QueryTracingFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_QUERY_LENGTH = 500;
+
+    private final int maxStatements;
+    private final long maxDbMillis;
+    private final long slowStatementMillis;
+
+    public QueryTracingFilter(int maxStatements, long maxDbMillis, long slowStatementMillis) {
+        this.maxStatements = maxStatements;
+        this.maxDbMillis = maxDbMillis;
+        this.slowStatementMillis = slowStatementMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, stats);
+        try {
+            filterChain.doFilter(request, timedResponse);
+            // Bodiless responses never asked for a stream
+            timedResponse.writeHeader();
+        } finally {
+            RequestQueryStats.end();
+            warnIfOverThreshold(request, stats);
+        }
+    }
+
+    private void warnIfOverThreshold(HttpServletRequest request, RequestQueryStats stats) {
+        if (stats.getStatementCount() <= maxStatements
+                && stats.getTotalMillis() <= maxDbMillis
+                && stats.getSlowestMillis() <= slowStatementMillis) {
+            return;
+        }
+        String slowest = stats.getSlowestQuery();
+        if (slowest != null && slowest.length() > MAX_LOGGED_QUERY_LENGTH) {
+            slowest = slowest.substring(0, MAX_LOGGED_QUERY_LENGTH) + "...";
+        }
+        log.warn("{} {}: {} statements, {} ms in DB, slowest {} ms: {}",
+                request.getMethod(), request.getRequestURI(), stats.getStatementCount(),
+                format(stats.getTotalMillis()), format(stats.getSlowestMillis()), slowest);
+    }
+
+    static String serverTiming(RequestQueryStats stats) {
+        return "db;dur=" + format(stats.getTotalMillis()) + ";desc=\"" + stats.getStatementCount() + " statements\"";
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.2f", millis);
+    }
+
+    /**
+     * Adds the header just before the body is first written, which is the last moment headers
+     * can still change. Statements issued while streaming the body only reach the log.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestQueryStats stats;
+        private boolean headerWritten;
+
+        ServerTimingResponse(HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        private void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                headerWritten = true;
+                addHeader("Server-Timing", serverTiming(stats));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
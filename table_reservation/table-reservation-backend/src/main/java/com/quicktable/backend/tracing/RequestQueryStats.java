@@ -0,0 +1,54 @@
+package com.quicktable.backend.tracing;
+
+/**
+ * JDBC statement statistics for the request bound to the current thread. Only the request thread
+ * records into it, so plain fields are enough.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestQuery;
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void record(String query, long elapsedNanos, int statements) {
+        statementCount += statements;
+        totalNanos += elapsedNanos;
+        if (elapsedNanos > slowestNanos) {
+            slowestNanos = elapsedNanos;
+            slowestQuery = query;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public double getSlowestMillis() {
+        return slowestNanos / 1_000_000.0;
+    }
+
+    public String getSlowestQuery() {
+        return slowestQuery;
+    }
+}
@@ -0,0 +1,37 @@
+package com.quicktable.backend.tracing;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds every executed statement into the current request's {@link RequestQueryStats}.
+ * Statements outside a request (scheduled jobs, startup) are ignored.
+ */
+public class RequestQueryStatsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "quicktable.startNanos";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // ExecutionInfo.getElapsedTime() is whole milliseconds, which hides most single statements
+        if (RequestQueryStats.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats == null || startNanos == null) {
+            return;
+        }
+        String query = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        int statements = execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : 1;
+        stats.record(query, System.nanoTime() - startNanos, statements);
+    }
+}
@@ -1,6 +1,7 @@
 package com.quicktable.backend.util;
 
 import com.quicktable.backend.dto.contact.ContactMessageDTO;
+import com.quicktable.backend.dto.loyalty.LoyaltyTransactionDTO;
 import com.quicktable.backend.dto.reservation.ReservationDTO;
 import com.quicktable.backend.dto.staff.StaffDTO;
 import com.quicktable.backend.dto.table.TableDTO;
@@ -55,6 +56,10 @@ public class DtoMapper {
                 .tableName(reservation.getTable().getTableName())
                 .tableNumber(reservation.getTable().getTableNumber())
                 .tableLocation(reservation.getTable().getLocation().name())
+                .joinedTableNumbers(reservation.getJoinedTables().stream()
+                        .map(RestaurantTable::getTableNumber)
+                        .sorted()
+                        .toList())
                 .createdAt(reservation.getCreatedAt())
                 .updatedAt(reservation.getUpdatedAt())
                 .build();
@@ -105,4 +110,15 @@ public class DtoMapper {
                 .createdAt(message.getCreatedAt())
                 .build();
     }
+
+    public LoyaltyTransactionDTO toLoyaltyTransactionDTO(LoyaltyTransaction transaction) {
+        return LoyaltyTransactionDTO.builder()
+                .id(transaction.getId())
+                .type(transaction.getType())
+                .points(transaction.getPoints())
+                .reservationId(transaction.getReservationId())
+                .description(transaction.getDescription())
+                .createdAt(transaction.getCreatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,52 @@
+-- Tables the JDBC stores own (no entities, so Hibernate doesn't create them) for the dev profile's
+-- H2 database. PostgreSQL gets them from db/migration; keep the two in step.
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    tat_micros BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_tat ON rate_limit_buckets (tat_micros);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key VARCHAR(200) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INT,
+    content_type VARCHAR(100),
+    response_body BYTEA,
+    expires_at BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys (expires_at);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(200) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    expires_at BIGINT NOT NULL,
+    last_run_by VARCHAR(200),
+    last_started_at BIGINT,
+    last_finished_at BIGINT,
+    last_outcome VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS reservations_archive (
+    id BIGINT PRIMARY KEY,
+    reservation_code VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    table_id BIGINT NOT NULL,
+    joined_table_ids VARCHAR(200),
+    customer_name VARCHAR(200) NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    customer_phone VARCHAR(20) NOT NULL,
+    reservation_date DATE NOT NULL,
+    reservation_time TIME NOT NULL,
+    number_of_guests INTEGER NOT NULL,
+    special_requests VARCHAR,
+    status VARCHAR(20) NOT NULL,
+    loyalty_points_earned INTEGER,
+    cancellation_reason VARCHAR,
+    cancelled_at TIMESTAMP,
+    cancelled_by BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_user ON reservations_archive (user_id, reservation_date);
@@ -1,11 +1,6 @@
--- PostgreSQL Schema for QuickTable Restaurant Reservation System
--- Run this script to create the database schema manually if needed
-
--- Create database (run this separately as superuser)
--- CREATE DATABASE quicktable;
-
--- Connect to the database
--- \c quicktable
+-- Baseline: the schema as it stood before versioned migrations. Every statement is IF NOT EXISTS,
+-- so databases created earlier by Hibernate's ddl-auto or by hand pick it up without changes.
+-- Never edit an applied migration; add the next version instead.
 
 -- Users table
 CREATE TABLE IF NOT EXISTS users (
@@ -24,6 +19,7 @@ CREATE TABLE IF NOT EXISTS users (
     enabled BOOLEAN DEFAULT TRUE,
     loyalty_points INTEGER DEFAULT 0,
     loyalty_tier VARCHAR(20) DEFAULT 'BRONZE',
+    loyalty_ledger_offset BIGINT DEFAULT 0,
     total_reservations INTEGER DEFAULT 0,
     completed_reservations INTEGER DEFAULT 0,
     cancelled_reservations INTEGER DEFAULT 0,
@@ -75,6 +71,13 @@ CREATE TABLE IF NOT EXISTS reservations (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Extra tables pushed together for one reservation (large parties)
+CREATE TABLE IF NOT EXISTS reservation_tables (
+    reservation_id BIGINT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    table_id BIGINT NOT NULL REFERENCES restaurant_tables(id),
+    PRIMARY KEY (reservation_id, table_id)
+);
+
 -- Staff table
 CREATE TABLE IF NOT EXISTS staff (
     id BIGSERIAL PRIMARY KEY,
@@ -118,6 +121,41 @@ CREATE TABLE IF NOT EXISTS notifications (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Loyalty ledger (append-only, partitioned by year of entry)
+CREATE TABLE IF NOT EXISTS loyalty_ledger (
+    id BIGSERIAL,
+    user_id BIGINT NOT NULL,
+    reservation_id BIGINT,
+    type VARCHAR(20) NOT NULL,
+    points INTEGER NOT NULL,
+    description VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS loyalty_ledger_2025 PARTITION OF loyalty_ledger
+    FOR VALUES FROM ('2025-01-01') TO ('2026-01-01');
+CREATE TABLE IF NOT EXISTS loyalty_ledger_2026 PARTITION OF loyalty_ledger
+    FOR VALUES FROM ('2026-01-01') TO ('2027-01-01');
+CREATE TABLE IF NOT EXISTS loyalty_ledger_2027 PARTITION OF loyalty_ledger
+    FOR VALUES FROM ('2027-01-01') TO ('2028-01-01');
+CREATE TABLE IF NOT EXISTS loyalty_ledger_default PARTITION OF loyalty_ledger DEFAULT;
+
+-- Shared rate-limit buckets (only used with app.rate-limit.store=jdbc)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    tat_micros BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key VARCHAR(200) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INT,
+    content_type VARCHAR(100),
+    response_body BYTEA,
+    expires_at BIGINT NOT NULL
+);
+
 -- Indexes for better query performance
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_users_role ON users(role);
@@ -128,3 +166,7 @@ CREATE INDEX IF NOT EXISTS idx_reservations_table ON reservations(table_id);
 CREATE INDEX IF NOT EXISTS idx_reservations_code ON reservations(reservation_code);
 CREATE INDEX IF NOT EXISTS idx_tables_status ON restaurant_tables(status);
 CREATE INDEX IF NOT EXISTS idx_notifications_scheduled ON notifications(scheduled_for) WHERE sent = FALSE;
+CREATE INDEX IF NOT EXISTS idx_loyalty_ledger_user ON loyalty_ledger(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_reservation_tables_table ON reservation_tables(table_id);
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_tat ON rate_limit_buckets(tat_micros);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys(expires_at);
@@ -0,0 +1,57 @@
+-- Line the schema up with the entities so Hibernate can run with ddl-auto: validate
+ALTER TABLE users ALTER COLUMN total_spent TYPE DOUBLE PRECISION;
+ALTER TABLE restaurant_tables ALTER COLUMN position_x TYPE DOUBLE PRECISION;
+ALTER TABLE restaurant_tables ALTER COLUMN position_y TYPE DOUBLE PRECISION;
+
+-- Indexes shaped after ReservationRepository. Only PENDING and CONFIRMED bookings take part in
+-- availability, so the hot indexes are partial and stay small as history piles up.
+
+-- Conflict checks and per-table lookups (findConflictingReservations, existsActiveBetween,
+-- findActiveReservationsByTableAndDate)
+CREATE INDEX IF NOT EXISTS idx_reservations_active_table_slot
+    ON reservations (table_id, reservation_date, reservation_time)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+-- Whole-day and date-range occupancy (findBookedSlots*, findActiveReservationsByDate, the
+-- allocator and the calendar); table_id is carried so the slot projections are index-only
+CREATE INDEX IF NOT EXISTS idx_reservations_active_date
+    ON reservations (reservation_date, reservation_time) INCLUDE (table_id)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+-- Dashboard counts and range reports (countByDate*, findByDateRange*, sumGuestsByDate)
+CREATE INDEX IF NOT EXISTS idx_reservations_date_status
+    ON reservations (reservation_date, status);
+
+-- "My reservations", newest first, with and without a status filter
+CREATE INDEX IF NOT EXISTS idx_reservations_user_date
+    ON reservations (user_id, reservation_date DESC);
+CREATE INDEX IF NOT EXISTS idx_reservations_user_status_date
+    ON reservations (user_id, status, reservation_date DESC);
+
+-- Reminder sweeps only ever look at bookings still waiting for that reminder
+CREATE INDEX IF NOT EXISTS idx_reservations_reminder_24h
+    ON reservations (reservation_date)
+    WHERE reminder_sent24h = FALSE AND status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX IF NOT EXISTS idx_reservations_reminder_2h
+    ON reservations (reservation_date, reservation_time)
+    WHERE reminder_sent2h = FALSE AND status IN ('PENDING', 'CONFIRMED');
+
+-- Joined tables are looked up by table, then matched back to the reservation
+DROP INDEX IF EXISTS idx_reservation_tables_table;
+CREATE INDEX IF NOT EXISTS idx_reservation_tables_table ON reservation_tables (table_id, reservation_id);
+
+-- Notifications: per-user inbox and per-reservation lookups (also backs the foreign keys)
+CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications (user_id, sent);
+CREATE INDEX IF NOT EXISTS idx_notifications_reservation ON notifications (reservation_id);
+
+-- Admin inbox: unread and unreplied messages, newest first
+CREATE INDEX IF NOT EXISTS idx_contact_messages_unread ON contact_messages (created_at DESC) WHERE read = FALSE;
+CREATE INDEX IF NOT EXISTS idx_contact_messages_unreplied ON contact_messages (created_at DESC) WHERE replied = FALSE;
+
+-- Superseded: the composites above lead with these columns, and the unique constraints on
+-- users.email and reservations.reservation_code already come with an index
+DROP INDEX IF EXISTS idx_reservations_date;
+DROP INDEX IF EXISTS idx_reservations_status;
+DROP INDEX IF EXISTS idx_reservations_user;
+DROP INDEX IF EXISTS idx_reservations_code;
+DROP INDEX IF EXISTS idx_users_email;
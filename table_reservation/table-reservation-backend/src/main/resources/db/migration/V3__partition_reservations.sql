@@ -0,0 +1,118 @@
+-- separator: none
+-- Range-partition reservations by month of reservation_date, so date-scoped queries and their
+-- indexes only touch the months they ask for. ReservationPartitionMaintainer keeps creating the
+-- months ahead; reservations_default catches anything outside them until then.
+--
+-- Postgres wants the partition key in every unique constraint, so the primary key becomes
+-- (id, reservation_date) and reservation codes are unique per date. Foreign keys can't point at
+-- a partitioned table without a unique id, so the ones from reservation_tables and notifications
+-- are dropped; ReservationArchiver cleans those rows up itself.
+--
+-- The table is rewritten under an exclusive lock: run this in a maintenance window.
+
+ALTER TABLE reservations RENAME TO reservations_legacy;
+
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS referencing, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'reservations_legacy'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.referencing, fk.conname);
+    END LOOP;
+
+    -- Free the id sequence name, whether the table came from BIGSERIAL or from an identity column
+    IF (SELECT attidentity FROM pg_attribute
+        WHERE attrelid = 'reservations_legacy'::regclass AND attname = 'id') <> '' THEN
+        ALTER TABLE reservations_legacy ALTER COLUMN id DROP IDENTITY;
+    ELSIF pg_get_serial_sequence('reservations_legacy', 'id') IS NOT NULL THEN
+        ALTER TABLE reservations_legacy ALTER COLUMN id DROP DEFAULT;
+        EXECUTE 'DROP SEQUENCE ' || pg_get_serial_sequence('reservations_legacy', 'id');
+    END IF;
+END $$;
+
+CREATE TABLE reservations (LIKE reservations_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (reservation_date);
+
+CREATE SEQUENCE reservations_id_seq OWNED BY reservations.id;
+ALTER TABLE reservations ALTER COLUMN id SET DEFAULT nextval('reservations_id_seq');
+
+-- One partition per month from the oldest booking to three months ahead
+DO $$
+DECLARE
+    month DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(reservation_date))::date, date_trunc('month', CURRENT_DATE)::date)
+    INTO month FROM reservations_legacy;
+    month := LEAST(month, date_trunc('month', CURRENT_DATE)::date);
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF reservations FOR VALUES FROM (%L) TO (%L)',
+                'reservations_p' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE reservations_default PARTITION OF reservations DEFAULT;
+
+INSERT INTO reservations SELECT * FROM reservations_legacy;
+SELECT setval('reservations_id_seq', COALESCE((SELECT MAX(id) FROM reservations), 0) + 1, false);
+
+DROP TABLE reservations_legacy;
+
+ALTER TABLE reservations ADD CONSTRAINT reservations_pkey PRIMARY KEY (id, reservation_date);
+ALTER TABLE reservations ADD CONSTRAINT reservations_code_date_key UNIQUE (reservation_code, reservation_date);
+ALTER TABLE reservations ADD CONSTRAINT reservations_user_fk FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE reservations ADD CONSTRAINT reservations_table_fk FOREIGN KEY (table_id) REFERENCES restaurant_tables (id);
+ALTER TABLE reservations ADD CONSTRAINT reservations_cancelled_by_fk FOREIGN KEY (cancelled_by) REFERENCES users (id);
+
+-- Indexes on the parent are created on every partition, present and future (see V2 for why each)
+CREATE INDEX idx_reservations_table ON reservations (table_id);
+CREATE INDEX idx_reservations_active_table_slot
+    ON reservations (table_id, reservation_date, reservation_time)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX idx_reservations_active_date
+    ON reservations (reservation_date, reservation_time) INCLUDE (table_id)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX idx_reservations_date_status ON reservations (reservation_date, status);
+CREATE INDEX idx_reservations_user_date ON reservations (user_id, reservation_date DESC);
+CREATE INDEX idx_reservations_user_status_date ON reservations (user_id, status, reservation_date DESC);
+CREATE INDEX idx_reservations_reminder_24h
+    ON reservations (reservation_date)
+    WHERE reminder_sent24h = FALSE AND status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX idx_reservations_reminder_2h
+    ON reservations (reservation_date, reservation_time)
+    WHERE reminder_sent2h = FALSE AND status IN ('PENDING', 'CONFIRMED');
+
+-- Finished bookings past the retention window (ReservationArchiver). Rows are written once and
+-- rarely read, so the text columns are pushed out to compressed TOAST storage early.
+CREATE TABLE IF NOT EXISTS reservations_archive (
+    id BIGINT PRIMARY KEY,
+    reservation_code VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    table_id BIGINT NOT NULL,
+    joined_table_ids VARCHAR(200),
+    customer_name VARCHAR(200) NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    customer_phone VARCHAR(20) NOT NULL,
+    reservation_date DATE NOT NULL,
+    reservation_time TIME NOT NULL,
+    number_of_guests INTEGER NOT NULL,
+    special_requests TEXT,
+    status VARCHAR(20) NOT NULL,
+    loyalty_points_earned INTEGER,
+    cancellation_reason TEXT,
+    cancelled_at TIMESTAMP,
+    cancelled_by BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+-- Also when ReservationArchiver created the table first
+ALTER TABLE reservations_archive SET (toast_tuple_target = 128);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_user ON reservations_archive (user_id, reservation_date);
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_date ON reservations_archive (reservation_date);
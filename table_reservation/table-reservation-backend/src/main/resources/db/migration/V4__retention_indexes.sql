@@ -0,0 +1,4 @@
+-- The retention purge (app.retention) finds the newest expired row by created_at, then deletes
+-- by primary key range up to it
+CREATE INDEX IF NOT EXISTS idx_notifications_created ON notifications (created_at);
+CREATE INDEX IF NOT EXISTS idx_contact_messages_created ON contact_messages (created_at);
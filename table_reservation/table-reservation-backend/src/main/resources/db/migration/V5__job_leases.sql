@@ -0,0 +1,11 @@
+-- Scheduled-job leases (app.jobs): each job runs on the node holding its row until expires_at,
+-- which the holder keeps pushing forward by heartbeat. Times are epoch milliseconds.
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(200) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    expires_at BIGINT NOT NULL,
+    last_run_by VARCHAR(200),
+    last_started_at BIGINT,
+    last_finished_at BIGINT,
+    last_outcome VARCHAR(20)
+);
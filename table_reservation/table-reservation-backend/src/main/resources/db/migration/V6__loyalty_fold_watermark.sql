@@ -0,0 +1,3 @@
+-- The loyalty recompute looks up the first ledger id written within app.loyalty.fold-lag-ms and
+-- only folds entries below it
+CREATE INDEX IF NOT EXISTS idx_loyalty_ledger_created ON loyalty_ledger (created_at);
@@ -0,0 +1,54 @@
+-- V3 had to narrow the reservation code constraint to (reservation_code, reservation_date), because
+-- a unique constraint on a partitioned table must include the partition key. It also dropped the
+-- foreign keys that pointed at reservations(id). reservation_codes puts both back: it holds one row
+-- per live reservation, keyed by code, and triggers on reservations keep it in step. Codes are
+-- unique across all dates again. Rows that belong to a reservation reference the registry's
+-- reservation_id instead of the partitioned table.
+--
+-- loyalty_ledger.reservation_id never had a foreign key. Ledger entries are history and outlive the
+-- reservation when ReservationArchiver moves it to reservations_archive.
+
+CREATE TABLE reservation_codes (
+    reservation_code VARCHAR(50) PRIMARY KEY,
+    reservation_id BIGINT NOT NULL UNIQUE
+);
+
+-- Fails on codes that V3 let through twice; find them with
+-- SELECT reservation_code FROM reservations GROUP BY reservation_code HAVING count(*) > 1
+INSERT INTO reservation_codes (reservation_code, reservation_id)
+SELECT reservation_code, id FROM reservations;
+
+-- Moving a booking to another month is a DELETE from one partition and an INSERT into the other,
+-- and only the AFTER DELETE and AFTER INSERT triggers fire for it. The delete therefore keeps the
+-- row while the reservation still exists, and the insert updates the code of an id it already has.
+-- A clash with another reservation's code still raises a unique violation.
+CREATE FUNCTION sync_reservation_code() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM reservation_codes c
+        WHERE c.reservation_id = OLD.id
+          AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.id = OLD.id);
+    ELSE
+        INSERT INTO reservation_codes (reservation_code, reservation_id)
+        VALUES (NEW.reservation_code, NEW.id)
+        ON CONFLICT (reservation_id) DO UPDATE SET reservation_code = EXCLUDED.reservation_code;
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER reservations_code_registry
+    AFTER INSERT OR DELETE OR UPDATE OF reservation_code ON reservations
+    FOR EACH ROW EXECUTE FUNCTION sync_reservation_code();
+
+-- Rows left behind while there were no foreign keys, handled as the old keys would have:
+-- joined tables went with their reservation, notifications are kept without it
+DELETE FROM reservation_tables t
+WHERE NOT EXISTS (SELECT 1 FROM reservation_codes c WHERE c.reservation_id = t.reservation_id);
+UPDATE notifications n SET reservation_id = NULL
+WHERE n.reservation_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM reservation_codes c WHERE c.reservation_id = n.reservation_id);
+
+ALTER TABLE reservation_tables ADD CONSTRAINT reservation_tables_reservation_fk
+    FOREIGN KEY (reservation_id) REFERENCES reservation_codes (reservation_id) ON DELETE CASCADE;
+ALTER TABLE notifications ADD CONSTRAINT notifications_reservation_fk
+    FOREIGN KEY (reservation_id) REFERENCES reservation_codes (reservation_id);
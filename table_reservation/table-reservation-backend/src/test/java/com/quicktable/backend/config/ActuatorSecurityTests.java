@@ -0,0 +1,52 @@
+package com.quicktable.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "management.server.port=0",
+                "management.server.address=127.0.0.1",
+                "management.endpoints.web.exposure.include=health,metrics,prometheus",
+                "management.health.mail.enabled=false"
+        })
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("dev")
+class ActuatorSecurityTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void scrapeEndpointIsClosedToAnonymousCallersOnThePublicPort() {
+        assertEquals(HttpStatus.UNAUTHORIZED, status(serverPort, "/actuator/prometheus"));
+        assertEquals(HttpStatus.UNAUTHORIZED, status(serverPort, "/actuator/metrics"));
+    }
+
+    @Test
+    void scrapeEndpointIsOpenOnTheManagementPortOnly() {
+        assertEquals(HttpStatus.OK, status(managementPort, "/actuator/prometheus"));
+        assertEquals(HttpStatus.UNAUTHORIZED, status(managementPort, "/actuator/metrics"));
+        assertEquals(HttpStatus.OK, status(managementPort, "/actuator/health"));
+    }
+
+    private HttpStatus status(int port, String path) {
+        return HttpStatus.valueOf(restTemplate.getForEntity("http://localhost:" + port + path, String.class)
+                .getStatusCode().value());
+    }
+}
@@ -0,0 +1,102 @@
+package com.quicktable.backend.config;
+
+import com.quicktable.backend.idempotency.IdempotencyClaim;
+import com.quicktable.backend.idempotency.IdempotencyStore;
+import com.quicktable.backend.idempotency.StoredResponse;
+import com.quicktable.backend.ratelimit.RateLimitStore;
+import com.quicktable.backend.retention.RetentionPurger;
+import com.quicktable.backend.retention.RetentionTarget;
+import com.quicktable.backend.scheduling.JobLeaseManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The JDBC stores with the pool set up as in application-prod.yml: connections come with
+ * auto-commit off and are rolled back when returned, so a write outside a transaction is lost.
+ * Every check reads through a separate connection that sees committed rows only.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + AutoCommitOffTests.URL,
+        "spring.datasource.hikari.auto-commit=false",
+        "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true",
+        "app.rate-limit.store=jdbc",
+        "app.idempotency.store=jdbc"
+})
+@ActiveProfiles("dev")
+class AutoCommitOffTests {
+
+    static final String URL = "jdbc:h2:mem:autocommit-off;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private final JdbcTemplate committed = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RateLimitStore rateLimitStore;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private JobLeaseManager jobLeaseManager;
+
+    @Autowired
+    private RetentionPurger retentionPurger;
+
+    @Test
+    void poolHandsOutConnectionsWithAutoCommitOff() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertFalse(connection.getAutoCommit());
+        }
+    }
+
+    @Test
+    void rateLimitBucketsAreCommitted() {
+        rateLimitStore.tryAcquire("auto-commit-off", 1_000_000, 5_000_000, System.currentTimeMillis() * 1000);
+        assertEquals(1, count("SELECT count(*) FROM rate_limit_buckets WHERE bucket_key = 'auto-commit-off'"));
+    }
+
+    @Test
+    void idempotencyClaimsAndResponsesAreCommitted() {
+        long now = System.currentTimeMillis();
+        assertEquals(IdempotencyClaim.State.ACQUIRED,
+                idempotencyStore.claim("auto-commit-off", "f", now, now + 60_000).state());
+        idempotencyStore.complete("auto-commit-off", new StoredResponse(201, null, new byte[0]), now + 60_000);
+        assertEquals(1, count("SELECT count(*) FROM idempotency_keys "
+                + "WHERE idem_key = 'auto-commit-off' AND status_code = 201"));
+    }
+
+    @Test
+    void jobLeasesAndRunsAreCommitted() {
+        jobLeaseManager.run("AutoCommitOffTests.job", false, () -> { });
+        assertEquals(1, count("SELECT count(*) FROM job_leases "
+                + "WHERE job_name = 'AutoCommitOffTests.job' AND last_outcome IS NOT NULL"));
+    }
+
+    @Test
+    void retentionDeletesAreCommitted() {
+        committed.update("INSERT INTO notifications (type, title, sent, created_at) VALUES ('SYSTEM', 'Old', TRUE, ?)",
+                LocalDateTime.now().minusYears(2));
+        retentionPurger.purge(RetentionTarget.NOTIFICATIONS, LocalDateTime.now().minusYears(1),
+                Instant.now().plusSeconds(60));
+        assertEquals(0, count("SELECT count(*) FROM notifications WHERE title = 'Old'"));
+    }
+
+    private int count(String sql) {
+        Integer count = committed.queryForObject(sql, Integer.class);
+        return count != null ? count : 0;
+    }
+}
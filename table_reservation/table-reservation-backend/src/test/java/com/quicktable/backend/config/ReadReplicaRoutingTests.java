@@ -0,0 +1,38 @@
+package com.quicktable.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("replica")
+class ReadReplicaRoutingTests {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals("REPLICA", currentUser(true));
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        assertEquals("SA", currentUser(false));
+    }
+
+    private String currentUser(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbcTemplate.queryForObject("SELECT CURRENT_USER", String.class));
+    }
+}
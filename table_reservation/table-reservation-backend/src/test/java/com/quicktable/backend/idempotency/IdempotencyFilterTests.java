@@ -0,0 +1,253 @@
+package com.quicktable.backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quicktable.backend.entity.Role;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTests {
+
+    private static final String BOOKING = "{\"tableId\":3,\"guests\":2}";
+
+    private final AtomicInteger bookings = new AtomicInteger();
+    private final User user = User.builder().id(7L).email("guest@quicktable.test").role(Role.USER).build();
+    private volatile int responseStatus = 200;
+    private volatile long bookingMillis = 0;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = filterWith(new LocalIdempotencyStore(1000));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retriesReplayTheFirstResponseWithoutBookingAgain() throws Exception {
+        MockHttpServletResponse first = send("key-1", BOOKING);
+        for (int i = 0; i < 50; i++) {
+            MockHttpServletResponse retry = send("key-1", BOOKING);
+            assertEquals(200, retry.getStatus());
+            assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertArrayEquals(first.getContentAsByteArray(), retry.getContentAsByteArray());
+        }
+
+        assertEquals(1, bookings.get());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("booking #1 for " + BOOKING, first.getContentAsString());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        bookingMillis = 200;
+        int clients = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                responses.add(pool.submit(() -> {
+                    start.await();
+                    return send("storm", BOOKING);
+                }));
+            }
+            start.countDown();
+
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertEquals(200, response.get().getStatus());
+                assertEquals("booking #1 for " + BOOKING, response.get().getContentAsString());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() throws Exception {
+        send("key-2", BOOKING);
+        MockHttpServletResponse other = send("key-2", "{\"tableId\":4,\"guests\":2}");
+
+        assertEquals(422, other.getStatus());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void keysAreScopedToTheUser() throws Exception {
+        send("shared", BOOKING);
+        SecurityContextHolder.clearContext();
+        User other = User.builder().id(8L).email("other@quicktable.test").role(Role.USER).build();
+        MockHttpServletResponse response = send(other, "shared", BOOKING);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, bookings.get());
+    }
+
+    @Test
+    void serverErrorsAreNotStoredSoTheRetryRunsAgain() throws Exception {
+        responseStatus = 503;
+        assertEquals(503, send("key-3", BOOKING).getStatus());
+
+        responseStatus = 200;
+        MockHttpServletResponse retry = send("key-3", BOOKING);
+
+        assertEquals(200, retry.getStatus());
+        assertEquals(2, bookings.get());
+    }
+
+    @Test
+    void requestsWithoutAKeyAreUntouched() throws Exception {
+        send(null, BOOKING);
+        send(null, BOOKING);
+
+        assertEquals(2, bookings.get());
+    }
+
+    @Test
+    void jdbcStoreReplaysAcrossFilterInstances() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcIdempotencyStore store = jdbcStore(dataSource);
+
+        // Two "nodes" sharing one table
+        IdempotencyFilter nodeA = filterWith(store);
+        IdempotencyFilter nodeB = filterWith(store);
+
+        filter = nodeA;
+        MockHttpServletResponse first = send("key-4", BOOKING);
+        filter = nodeB;
+        MockHttpServletResponse retry = send("key-4", BOOKING);
+
+        assertEquals(1, bookings.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertArrayEquals(first.getContentAsByteArray(), retry.getContentAsByteArray());
+        assertEquals(422, send("key-4", "{}").getStatus());
+    }
+
+    @Test
+    void jdbcStoreCommitsWhenThePoolDisablesAutoCommit() throws Exception {
+        // As in application-prod.yml: uncommitted work is rolled back when a connection is returned
+        try (HikariDataSource poolA = pool(); HikariDataSource poolB = pool()) {
+            filter = filterWith(jdbcStore(poolA));
+            MockHttpServletResponse first = send("key-5", BOOKING);
+            filter = filterWith(jdbcStore(poolB));
+            MockHttpServletResponse retry = send("key-5", BOOKING);
+
+            assertEquals(1, bookings.get());
+            assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertArrayEquals(first.getContentAsByteArray(), retry.getContentAsByteArray());
+        }
+    }
+
+    @Test
+    void localStoreStaysBoundedAndKeepsInFlightKeys() {
+        LocalIdempotencyStore store = new LocalIdempotencyStore(100);
+        long now = System.currentTimeMillis();
+        assertEquals(IdempotencyClaim.State.ACQUIRED, store.claim("in-flight", "f", now, now + 60_000).state());
+
+        for (int i = 0; i < 1000; i++) {
+            store.claim("k" + i, "f", now, now + 60_000);
+            store.complete("k" + i, new StoredResponse(200, null, new byte[0]), now + 60_000);
+        }
+
+        assertTrue(store.size() <= 101, "store grew to " + store.size());
+        assertEquals(IdempotencyClaim.State.IN_PROGRESS, store.claim("in-flight", "f", now, now + 60_000).state());
+    }
+
+    private static JdbcIdempotencyStore jdbcStore(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/dev/schema.sql")).execute(dataSource);
+        return new JdbcIdempotencyStore(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    private static HikariDataSource pool() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:idempotency-pooled;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setAutoCommit(false);
+        return dataSource;
+    }
+
+    private IdempotencyFilter filterWith(IdempotencyStore store) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setEndpoints(List.of("POST /api/reservations"));
+        IdempotencyService service = new IdempotencyService(properties, store,
+                new QuickTableMetrics(new SimpleMeterRegistry()));
+        return new IdempotencyFilter(service, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private MockHttpServletResponse send(String key, String body) throws Exception {
+        return send(user, key, body);
+    }
+
+    private MockHttpServletResponse send(User caller, String key, String body) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(caller, null, caller.getAuthorities()));
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/reservations");
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+            if (key != null) {
+                request.addHeader(IdempotencyFilter.HEADER, key);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, bookingChain());
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** Stands in for the controller: books, then echoes what it read. */
+    private FilterChain bookingChain() {
+        return (request, response) -> {
+            String received = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            int booking = bookings.incrementAndGet();
+            try {
+                Thread.sleep(bookingMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(responseStatus);
+            response.setContentType("text/plain");
+            response.getWriter().write("booking #" + booking + " for " + received);
+            response.getWriter().flush();
+        };
+    }
+}
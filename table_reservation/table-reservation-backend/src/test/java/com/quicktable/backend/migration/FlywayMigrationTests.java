@@ -0,0 +1,91 @@
+package com.quicktable.backend.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The migrations against a real PostgreSQL, followed by Hibernate's {@code validate}: starting
+ * the context at all means every entity matches the migrated schema. Skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratesAnEmptyDatabaseToTheSchemaTheEntitiesExpect() {
+        assertEquals(0, flyway.info().pending().length);
+        assertTrue(flyway.info().applied().length >= 7);
+
+        // Tables without entities, owned by the JDBC stores
+        for (String table : new String[]{"rate_limit_buckets", "idempotency_keys", "job_leases", "reservations_archive"}) {
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM information_schema.tables WHERE table_name = ?", Integer.class, table));
+        }
+    }
+
+    @Test
+    void reservationCodesStayUniqueAcrossPartitions() {
+        Long userId = jdbcTemplate.queryForObject("INSERT INTO users (first_name, last_name, email, phone, password,"
+                + " role) VALUES ('Code', 'Registry', 'registry@example.com', '555-0199', 'x', 'USER')"
+                + " RETURNING id", Long.class);
+        Long tableId = jdbcTemplate.queryForObject("INSERT INTO restaurant_tables (table_number, capacity, location,"
+                + " shape) VALUES (901, 2, 'CENTER', 'SQUARE') RETURNING id", Long.class);
+        LocalDate today = LocalDate.now();
+
+        Long id = reserve("QT-REGISTRY", userId, tableId, today);
+        jdbcTemplate.update("INSERT INTO reservation_tables (reservation_id, table_id) VALUES (?, ?)", id, tableId);
+        assertThrows(DataIntegrityViolationException.class,
+                () -> reserve("QT-REGISTRY", userId, tableId, today.plusMonths(2)));
+
+        // Moving to next month's partition keeps the code and the joined tables
+        jdbcTemplate.update("UPDATE reservations SET reservation_date = ? WHERE id = ?", today.plusMonths(1), id);
+        assertEquals(id, jdbcTemplate.queryForObject(
+                "SELECT reservation_id FROM reservation_codes WHERE reservation_code = 'QT-REGISTRY'", Long.class));
+        assertEquals(1, joinedTables(id));
+
+        jdbcTemplate.update("DELETE FROM reservations WHERE id = ?", id);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_codes WHERE reservation_id = ?", Integer.class, id));
+        assertEquals(0, joinedTables(id));
+    }
+
+    private Long reserve(String code, Long userId, Long tableId, LocalDate date) {
+        return jdbcTemplate.queryForObject("INSERT INTO reservations (reservation_code, user_id, table_id,"
+                + " customer_name, customer_email, customer_phone, reservation_date, reservation_time,"
+                + " number_of_guests) VALUES (?, ?, ?, 'Code Registry', 'registry@example.com', '555-0199', ?,"
+                + " '19:00', 2) RETURNING id", Long.class, code, userId, tableId, date);
+    }
+
+    private int joinedTables(Long reservationId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_tables WHERE reservation_id = ?", Integer.class, reservationId);
+    }
+}
@@ -0,0 +1,153 @@
+package com.quicktable.backend.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Both stores run the same scenarios; the JDBC one against the dev database.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class RateLimitStoreTests {
+
+    // Five tokens, one earned per millisecond
+    private static final long EMISSION = 1_000;
+    private static final long BURST = 5 * EMISSION;
+    private static final long NOW = 1_700_000_000_000_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcRateLimitStore jdbcStore;
+
+    @BeforeEach
+    void setUp() {
+        jdbcStore = new JdbcRateLimitStore(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void burstThenOneTokenPerEmission() {
+        for (RateLimitStore store : List.of(new LocalRateLimitStore(100), jdbcStore)) {
+            String key = key();
+            for (int remaining = 4; remaining >= 0; remaining--) {
+                assertEquals(new RateLimitDecision(true, remaining, 0), store.tryAcquire(key, EMISSION, BURST, NOW));
+            }
+            assertEquals(new RateLimitDecision(false, 0, EMISSION), store.tryAcquire(key, EMISSION, BURST, NOW));
+
+            // One microsecond short of the next token, then exactly on it
+            assertEquals(new RateLimitDecision(false, 0, 1),
+                    store.tryAcquire(key, EMISSION, BURST, NOW + EMISSION - 1));
+            assertEquals(new RateLimitDecision(true, 0, 0), store.tryAcquire(key, EMISSION, BURST, NOW + EMISSION));
+
+            // Idle for a whole burst after the last token: full again, and no more than full
+            assertEquals(new RateLimitDecision(true, 4, 0),
+                    store.tryAcquire(key, EMISSION, BURST, NOW + EMISSION + BURST));
+            assertEquals(new RateLimitDecision(true, 4, 0),
+                    store.tryAcquire(key(), EMISSION, BURST, NOW + 100 * BURST));
+        }
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedTheBurst() throws Exception {
+        for (RateLimitStore store : List.of(new LocalRateLimitStore(100), jdbcStore)) {
+            String key = key();
+            assertEquals(5, allowedConcurrently(store, key, 8, 5));
+        }
+    }
+
+    @Test
+    void evictionDropsOnlyRefilledBuckets() {
+        jdbcStore.tryAcquire("evict-draining", EMISSION, BURST, NOW);
+        jdbcStore.tryAcquire("evict-refilled", EMISSION, BURST, NOW - BURST);
+        jdbcStore.evictExpired(NOW);
+
+        assertEquals(List.of("evict-draining"), jdbcTemplate.queryForList(
+                "SELECT bucket_key FROM rate_limit_buckets WHERE bucket_key LIKE 'evict-%'", String.class));
+    }
+
+    @Test
+    void fullLocalStoreAdmitsAFloodOfNewKeysByEvictingTheFullestBuckets() {
+        LocalRateLimitStore store = new LocalRateLimitStore(4);
+        for (int attempt = 0; attempt < 5; attempt++) {
+            store.tryAcquire("spent", EMISSION, BURST, NOW);
+        }
+        for (String key : List.of("a", "b", "c")) {
+            store.tryAcquire(key, EMISSION, BURST, NOW);
+        }
+
+        // Every new key gets in, and the map stays bounded
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.tryAcquire("flood-" + i, EMISSION, BURST, NOW).allowed());
+            assertTrue(store.size() <= 4);
+        }
+
+        // The caller that used up its burst was never the one evicted, so it doesn't start over full
+        assertFalse(store.tryAcquire("spent", EMISSION, BURST, NOW).allowed());
+    }
+
+    @Test
+    void fullLocalStoreSweepsRefilledBucketsBeforeEvictingDrainingOnes() {
+        LocalRateLimitStore store = new LocalRateLimitStore(3);
+        store.tryAcquire("a", EMISSION, BURST, NOW + BURST);
+        store.tryAcquire("b", EMISSION, BURST, NOW);
+        store.tryAcquire("c", EMISSION, BURST, NOW);
+
+        // "b" and "c" have refilled by now, "a" hasn't
+        assertTrue(store.tryAcquire("d", EMISSION, BURST, NOW + BURST).allowed());
+        assertEquals(2, store.size());
+        assertEquals(new RateLimitDecision(true, 3, 0), store.tryAcquire("a", EMISSION, BURST, NOW + BURST));
+    }
+
+    private static int allowedConcurrently(RateLimitStore store, String key, int threads, int attemptsEach)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int attempt = 0; attempt < attemptsEach; attempt++) {
+                        if (store.tryAcquire(key, EMISSION, BURST, NOW).allowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get();
+            }
+            return allowed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String key() {
+        return "test-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,165 @@
+package com.quicktable.backend.retention;
+
+import com.quicktable.backend.entity.ContactMessage;
+import com.quicktable.backend.entity.Notification;
+import com.quicktable.backend.entity.NotificationType;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.repository.ContactMessageRepository;
+import com.quicktable.backend.repository.NotificationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+class RetentionPurgerTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QuickTableMetrics metrics;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ContactMessageRepository contactMessageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    private RetentionProperties properties;
+    private RetentionPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RetentionProperties();
+        properties.setBatchSize(2);
+        properties.setBatchPause(Duration.ZERO);
+        purger = new RetentionPurger(dataSource, transactionManager, properties, metrics);
+    }
+
+    @Test
+    void purgesExpiredRowsInBatchesAndKeepsTheRest() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(notification(cutoff.minusDays(10 - i)));
+        }
+        Long recent = notification(cutoff.plusDays(1));
+
+        assertEquals(5, purger.purge(RetentionTarget.NOTIFICATIONS, cutoff, Instant.now().plusSeconds(60)));
+        expired.forEach(id -> assertFalse(notificationRepository.existsById(id)));
+        assertTrue(notificationRepository.existsById(recent));
+
+        assertEquals(0, purger.purge(RetentionTarget.NOTIFICATIONS, cutoff, Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    void keepsUnsentNotificationsUntilTheirScheduleIsPastTheCutoff() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        // Older than the other tests' rows: what this one keeps must not end their purge scans early
+        Long upcomingReminder = notification(cutoff.minusDays(302), false, LocalDateTime.now().plusDays(2));
+        Long unscheduled = notification(cutoff.minusDays(301), false, null);
+        Long neverSent = notification(cutoff.minusDays(300), false, cutoff.minusDays(1));
+
+        assertEquals(1, purger.purge(RetentionTarget.NOTIFICATIONS, cutoff, Instant.now().plusSeconds(60)));
+        assertTrue(notificationRepository.existsById(upcomingReminder));
+        assertTrue(notificationRepository.existsById(unscheduled));
+        assertFalse(notificationRepository.existsById(neverSent));
+    }
+
+    @Test
+    void keepsUnreadContactMessages() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(365);
+        Long oldRead = contactMessage(cutoff.minusDays(1), true);
+        Long oldUnread = contactMessage(cutoff.minusDays(1), false);
+        Long recentRead = contactMessage(cutoff.plusDays(1), true);
+
+        assertEquals(1, purger.purge(RetentionTarget.CONTACT_MESSAGES, cutoff, Instant.now().plusSeconds(60)));
+        assertFalse(contactMessageRepository.existsById(oldRead));
+        assertTrue(contactMessageRepository.existsById(oldUnread));
+        assertTrue(contactMessageRepository.existsById(recentRead));
+    }
+
+    @Test
+    void batchesCommitWhenThePoolDisablesAutoCommit() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        Long first = notification(cutoff.minusDays(2));
+        Long second = notification(cutoff.minusDays(1));
+
+        // As in application-prod.yml: uncommitted work is rolled back when a connection is returned
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl(url);
+            pool.setUsername("sa");
+            pool.setAutoCommit(false);
+            RetentionPurger prodLike = new RetentionPurger(pool, new DataSourceTransactionManager(pool),
+                    properties, metrics);
+
+            assertEquals(2, prodLike.purge(RetentionTarget.NOTIFICATIONS, cutoff, Instant.now().plusSeconds(60)));
+        }
+        assertFalse(notificationRepository.existsById(first));
+        assertFalse(notificationRepository.existsById(second));
+    }
+
+    @Test
+    void startsNoBatchOnceTheWindowHasClosed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        Long expired = notification(cutoff.minusDays(1));
+
+        assertEquals(0, purger.purge(RetentionTarget.NOTIFICATIONS, cutoff, Instant.now().minusSeconds(1)));
+        assertTrue(notificationRepository.existsById(expired));
+    }
+
+    private Long notification(LocalDateTime createdAt) {
+        return notification(createdAt, true, null);
+    }
+
+    private Long notification(LocalDateTime createdAt, boolean sent, LocalDateTime scheduledFor) {
+        Notification notification = notificationRepository.save(Notification.builder()
+                .type(NotificationType.SYSTEM)
+                .title("Notice")
+                .sent(sent)
+                .scheduledFor(scheduledFor)
+                .build());
+        jdbcTemplate.update("UPDATE notifications SET created_at = ? WHERE id = ?", createdAt, notification.getId());
+        return notification.getId();
+    }
+
+    private Long contactMessage(LocalDateTime createdAt, boolean read) {
+        ContactMessage message = contactMessageRepository.save(ContactMessage.builder()
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("ada@example.com")
+                .message("Do you have a vegan menu?")
+                .read(read)
+                .build());
+        jdbcTemplate.update("UPDATE contact_messages SET created_at = ? WHERE id = ?", createdAt, message.getId());
+        return message.getId();
+    }
+}
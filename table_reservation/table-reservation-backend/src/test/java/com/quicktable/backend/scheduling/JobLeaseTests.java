@@ -0,0 +1,173 @@
+package com.quicktable.backend.scheduling;
+
+import com.quicktable.backend.QuickTableApplication;
+import com.quicktable.backend.dto.job.JobStatusDTO;
+import com.quicktable.backend.dto.job.JobsOverviewDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Two application contexts sharing one in-memory database, standing in for two nodes.
+ */
+class JobLeaseTests {
+
+    // Runs at startup on every node (fixed delay, no initial delay)
+    private static final String JOB = "LoyaltyService.recomputeBalances";
+
+    private final String database = "jobs-" + UUID.randomUUID();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void scheduledJobRunsOnlyOnTheLeaseHolder() throws Exception {
+        ConfigurableApplicationContext a = start("node-a");
+        awaitTrue(() -> "node-a".equals(lease(a).get("last_run_by")));
+        ConfigurableApplicationContext b = start("node-b");
+
+        // B's scheduler fires the job too, and finds it taken
+        awaitTrue(() -> skipped(b) >= 1);
+        assertNull(b.getBean(MeterRegistry.class).find("quicktable.jobs.run").tag("job", JOB).timer());
+
+        // A's heartbeat keeps the lease well past its TTL
+        Thread.sleep(2500);
+        AtomicInteger runs = new AtomicInteger();
+        manager(b).run(JOB, false, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+        assertEquals("node-a", lease(b).get("owner"));
+
+        JobsOverviewDTO overview = manager(b).overview();
+        assertEquals("node-b", overview.getNode());
+        JobStatusDTO job = status(overview, JOB);
+        assertEquals(JobStatusDTO.Scope.CLUSTER, job.getScope());
+        assertEquals("node-a", job.getLeaseOwner());
+        assertEquals("node-a", job.getLastRunBy());
+        assertEquals(JobLeaseManager.COMPLETED, job.getLastOutcome());
+        assertEquals(JobStatusDTO.Scope.NODE, status(overview, "SlotHoldService.removeExpired").getScope());
+
+        // A clean shutdown hands the job over at once
+        a.close();
+        manager(b).run(JOB, false, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+        assertEquals("node-b", lease(b).get("owner"));
+        assertEquals("node-b", lease(b).get("last_run_by"));
+    }
+
+    @Test
+    void leaseOfANodeThatStoppedHeartbeatingIsTakenOver() throws Exception {
+        ConfigurableApplicationContext b = start("node-b");
+        JdbcTemplate jdbcTemplate = b.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM job_leases WHERE job_name = ?", "ReservationArchiver.archiveExpired");
+        jdbcTemplate.update("INSERT INTO job_leases (job_name, owner, expires_at) VALUES (?, ?, ?)",
+                "ReservationArchiver.archiveExpired", "crashed-node", System.currentTimeMillis() + 500);
+
+        AtomicInteger runs = new AtomicInteger();
+        manager(b).run("ReservationArchiver.archiveExpired", false, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        Thread.sleep(600);
+        manager(b).run("ReservationArchiver.archiveExpired", false, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void nodeLocalJobsRunOnEveryNode() {
+        ConfigurableApplicationContext a = start("node-a");
+        ConfigurableApplicationContext b = start("node-b");
+
+        AtomicInteger runs = new AtomicInteger();
+        manager(a).run("SlotHoldService.removeExpired", true, runs::incrementAndGet);
+        manager(b).run("SlotHoldService.removeExpired", true, runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, b.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT count(*) FROM job_leases WHERE job_name = 'SlotHoldService.removeExpired'", Integer.class));
+    }
+
+    @Test
+    void leasesHoldWhenThePoolDisablesAutoCommit() throws Exception {
+        // As in application-prod.yml: uncommitted work is rolled back when a connection is returned
+        ConfigurableApplicationContext a = start("node-a", "spring.datasource.hikari.auto-commit=false");
+        awaitTrue(() -> "node-a".equals(lease(a).get("last_run_by")));
+        ConfigurableApplicationContext b = start("node-b", "spring.datasource.hikari.auto-commit=false");
+
+        AtomicInteger runs = new AtomicInteger();
+        manager(b).run(JOB, false, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+        assertEquals("node-a", lease(b).get("owner"));
+
+        a.close();
+        manager(b).run(JOB, false, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+        assertEquals("node-b", lease(b).get("last_run_by"));
+    }
+
+    private ConfigurableApplicationContext start(String nodeId, String... extraProperties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuickTableApplication.class)
+                .profiles("dev")
+                .properties(extraProperties)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        // The second node must not drop the schema the first one is using
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "server.port=0",
+                        "app.jobs.node-id=" + nodeId,
+                        "app.jobs.lease-ttl=1s",
+                        "app.jobs.heartbeat-interval=200ms")
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static JobLeaseManager manager(ConfigurableApplicationContext context) {
+        return context.getBean(JobLeaseManager.class);
+    }
+
+    private static Map<String, Object> lease(ConfigurableApplicationContext context) {
+        List<Map<String, Object>> rows = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT owner, last_run_by FROM job_leases WHERE job_name = ?", JOB);
+        return rows.isEmpty() ? Map.of() : rows.get(0);
+    }
+
+    private static double skipped(ConfigurableApplicationContext context) {
+        Counter counter = context.getBean(MeterRegistry.class).find("quicktable.jobs.skipped").tag("job", JOB).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static JobStatusDTO status(JobsOverviewDTO overview, String job) {
+        return overview.getJobs().stream()
+                .filter(status -> status.getName().equals(job))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 10s");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.quicktable.backend.security;
+
+import com.quicktable.backend.dto.auth.LoginRequest;
+import com.quicktable.backend.entity.Role;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.exception.TooManyRequestsException;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.repository.StaffRepository;
+import com.quicktable.backend.repository.UserRepository;
+import com.quicktable.backend.service.AuthService;
+import com.quicktable.backend.service.EmailService;
+import com.quicktable.backend.util.DtoMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoginAttemptServiceTests {
+
+    private static final String ACCOUNT = "real@quicktable.test";
+    private static final String PASSWORD = "correct-horse";
+
+    private final AtomicInteger hashes = new AtomicInteger();
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        BCryptPasswordEncoder countingEncoder = new BCryptPasswordEncoder() {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashes.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+
+        User account = User.builder()
+                .id(1L)
+                .firstName("Real")
+                .lastName("Customer")
+                .email(ACCOUNT)
+                .phone("555-0199")
+                .password(bcrypt.encode(PASSWORD))
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(countingEncoder);
+        provider.setUserDetailsService(email -> {
+            if (ACCOUNT.equals(email)) {
+                return account;
+            }
+            throw new UsernameNotFoundException(email);
+        });
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(ACCOUNT)).thenReturn(Optional.of(account));
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.generateToken(account)).thenReturn("access");
+        when(jwtTokenProvider.generateRefreshToken(account)).thenReturn("refresh");
+
+        LoginAttemptService loginAttemptService = new LoginAttemptService(
+                new QuickTableMetrics(new SimpleMeterRegistry()), 5, 20, 900_000, 60_000, 3_600_000, 50_000);
+
+        authService = new AuthService(userRepository, mock(StaffRepository.class), bcrypt, jwtTokenProvider,
+                new ProviderManager(provider), new DtoMapper(), mock(EmailService.class), loginAttemptService);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void credentialStuffingFromOneAddressStopsHashingAtTheThreshold() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        String attacker = "203.0.113.7";
+
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < 20; i++) {
+            attempt("victim" + i + "@example.com", "password" + i, attacker);
+        }
+        long hashingCpu = threads.getCurrentThreadCpuTime() - start;
+        assertEquals(20, hashes.get());
+
+        int blocked = 0;
+        start = threads.getCurrentThreadCpuTime();
+        for (int i = 20; i < 5_000; i++) {
+            if (attempt("victim" + i + "@example.com", "password" + i, attacker) == Outcome.BLOCKED) {
+                blocked++;
+            }
+        }
+        long blockedCpu = threads.getCurrentThreadCpuTime() - start;
+
+        assertEquals(4_980, blocked);
+        assertEquals(20, hashes.get(), "no password was hashed once the address was locked");
+        assertTrue(blockedCpu < hashingCpu,
+                "4980 rejected attempts (" + blockedCpu + " ns) should cost less CPU than 20 hashed ones ("
+                        + hashingCpu + " ns)");
+    }
+
+    @Test
+    void distributedAttackOnOneAccountLocksTheEmail() {
+        for (int i = 0; i < 100; i++) {
+            attempt(ACCOUNT, "guess" + i, "198.51.100." + i);
+        }
+        assertEquals(5, hashes.get());
+
+        // Even the right password is refused while the account is locked, without hashing
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.login(new LoginRequest(ACCOUNT, PASSWORD), "192.0.2.1"));
+        assertEquals(5, hashes.get());
+    }
+
+    @Test
+    void successfulLoginClearsEmailFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Outcome.FAILED, attempt(ACCOUNT, "typo" + i, "192.0.2.1"));
+        }
+        assertEquals(Outcome.SUCCEEDED, attempt(ACCOUNT, PASSWORD, "192.0.2.1"));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Outcome.FAILED, attempt(ACCOUNT, "typo" + i, "192.0.2.1"));
+        }
+        assertEquals(Outcome.SUCCEEDED, attempt(ACCOUNT, PASSWORD, "192.0.2.1"));
+    }
+
+    @Test
+    void lockoutDoublesOnRepeatedFailures() {
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 900_000, 60_000, 3_600_000, 100, 4);
+        long now = 1_000_000;
+
+        assertEquals(0, tracker.recordFailure("key", now));
+        assertEquals(0, tracker.recordFailure("key", now));
+        assertEquals(60_000, tracker.recordFailure("key", now));
+        assertEquals(60_000, tracker.lockedForMillis("key", now));
+
+        now += 60_000;
+        assertEquals(0, tracker.lockedForMillis("key", now));
+        assertEquals(120_000, tracker.recordFailure("key", now));
+
+        now += 120_000;
+        assertEquals(240_000, tracker.recordFailure("key", now));
+    }
+
+    @Test
+    void failuresOutsideTheWindowAreForgotten() {
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 900_000, 60_000, 3_600_000, 100, 4);
+
+        tracker.recordFailure("key", 0);
+        tracker.recordFailure("key", 0);
+        assertEquals(0, tracker.recordFailure("key", 1_000_000));
+        assertEquals(0, tracker.lockedForMillis("key", 1_000_000));
+    }
+
+    @Test
+    void memoryStaysBoundedUnderManyKeys() {
+        LoginAttemptTracker tracker = new LoginAttemptTracker(5, 900_000, 60_000, 3_600_000, 1_000, 16);
+
+        for (int i = 0; i < 200_000; i++) {
+            tracker.recordFailure("stuffed" + i + "@example.com", i);
+        }
+
+        assertTrue(tracker.size() <= 1_000, "tracker holds " + tracker.size() + " keys");
+    }
+
+    private enum Outcome { SUCCEEDED, FAILED, BLOCKED }
+
+    private Outcome attempt(String email, String password, String clientIp) {
+        try {
+            authService.login(new LoginRequest(email, password), clientIp);
+            return Outcome.SUCCEEDED;
+        } catch (BadCredentialsException e) {
+            return Outcome.FAILED;
+        } catch (TooManyRequestsException e) {
+            return Outcome.BLOCKED;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.contact.ContactMessageDTO;
+import com.quicktable.backend.dto.contact.CreateContactMessageRequest;
+import com.quicktable.backend.entity.ContactMessage;
+import com.quicktable.backend.mail.ContactMailView;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+class ContactMessageServiceTests {
+
+    @Autowired
+    private ContactMessageService contactMessageService;
+
+    @Test
+    void unreadCountDropsOnceHoweverOftenAMessageIsRead() {
+        long before = contactMessageService.getUnreadCount();
+        ContactMessageDTO first = contactMessageService.createContactMessage(request());
+        ContactMessageDTO second = contactMessageService.createContactMessage(request());
+        assertEquals(before + 2, contactMessageService.getUnreadCount());
+
+        contactMessageService.markAsRead(first.getId());
+        contactMessageService.markAsRead(first.getId());
+        assertEquals(before + 1, contactMessageService.getUnreadCount());
+
+        // Already read, so deleting it leaves the count alone
+        contactMessageService.deleteMessage(first.getId());
+        assertEquals(before + 1, contactMessageService.getUnreadCount());
+
+        contactMessageService.deleteMessage(second.getId());
+        assertEquals(before, contactMessageService.getUnreadCount());
+    }
+
+    @Test
+    void floodSendsAtMostOneEarlyDigestPerWindow() {
+        EmailService emailService = mock(EmailService.class);
+        ContactDigestNotifier notifier = new ContactDigestNotifier(emailService, 3, 1);
+
+        for (int i = 0; i < 10; i++) {
+            notifier.messageReceived(message(i));
+        }
+        verify(emailService, times(1)).sendContactDigest(anyList(), anyInt());
+
+        // The window's digest lists a full batch and counts the rest
+        ArgumentCaptor<List<ContactMailView>> listed = listCaptor();
+        notifier.flush();
+        verify(emailService, times(2)).sendContactDigest(listed.capture(), anyInt());
+        verify(emailService).sendContactDigest(listed.getValue(), 7);
+        assertEquals(3, listed.getValue().size());
+
+        // A new window allows an early digest again
+        for (int i = 0; i < 3; i++) {
+            notifier.messageReceived(message(i));
+        }
+        verify(emailService, times(3)).sendContactDigest(anyList(), anyInt());
+        notifier.flush();
+        verify(emailService, times(3)).sendContactDigest(anyList(), anyInt());
+    }
+
+    private static CreateContactMessageRequest request() {
+        return new CreateContactMessageRequest("Pat", "Guest", "pat@example.com", "Do you have vegan options?");
+    }
+
+    private static ContactMessage message(int i) {
+        return ContactMessage.builder()
+                .firstName("Guest")
+                .lastName(String.valueOf(i))
+                .email("guest" + i + "@example.com")
+                .message("Message number " + i)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<ContactMailView>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
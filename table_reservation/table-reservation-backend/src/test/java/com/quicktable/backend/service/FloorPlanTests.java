@@ -0,0 +1,115 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.table.TableCombinationDTO;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.TableLocation;
+import com.quicktable.backend.entity.TableShape;
+import com.quicktable.backend.entity.TableStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloorPlanTests {
+
+    private static final double MAX_DISTANCE = 150;
+
+    @Test
+    void onlyJoinsStraightEdgedTablesInTheSameLocation() {
+        FloorPlan floorPlan = FloorPlan.of(List.of(
+                table(1, 4, TableLocation.WINDOW, TableShape.SQUARE, 0, 0),
+                table(2, 4, TableLocation.WINDOW, TableShape.RECTANGLE, 0, 100),
+                table(3, 4, TableLocation.CENTER, TableShape.SQUARE, 100, 0),
+                table(4, 4, TableLocation.WINDOW, TableShape.ROUND, 0, 200),
+                table(5, 4, TableLocation.WINDOW, TableShape.SQUARE, 0, 400)), MAX_DISTANCE);
+
+        assertTrue(floorPlan.isConnected(List.of(1L, 2L)));
+        assertFalse(floorPlan.isConnected(List.of(1L, 3L)));
+        assertFalse(floorPlan.isConnected(List.of(2L, 4L)));
+        assertFalse(floorPlan.isConnected(List.of(2L, 5L)));
+        assertFalse(floorPlan.isConnected(List.of(99L)));
+
+        List<FloorPlan.Combination> combinations = floorPlan.combinationsFor(8, 4, 1000);
+        assertEquals(1, combinations.size());
+        assertEquals(List.of(1L, 2L), floorPlan.toDTO(combinations.get(0)).getTableIds());
+    }
+
+    @Test
+    void listsMinimalGroupsFewestTablesFirst() {
+        // A row of 2-tops, 4-tops and a 6-top, each 100 apart
+        FloorPlan floorPlan = FloorPlan.of(List.of(
+                table(1, 2, TableLocation.CENTER, TableShape.SQUARE, 0, 0),
+                table(2, 2, TableLocation.CENTER, TableShape.SQUARE, 100, 0),
+                table(3, 4, TableLocation.CENTER, TableShape.SQUARE, 200, 0),
+                table(4, 6, TableLocation.CENTER, TableShape.RECTANGLE, 300, 0)), MAX_DISTANCE);
+
+        List<TableCombinationDTO> combinations = floorPlan.combinationsFor(8, 4, 1000).stream()
+                .map(floorPlan::toDTO)
+                .toList();
+
+        assertEquals(List.of(List.of(3L, 4L), List.of(1L, 2L, 3L)),
+                combinations.stream().map(TableCombinationDTO::getTableIds).toList());
+        assertEquals(10, combinations.get(0).getCapacity());
+    }
+
+    @Test
+    void ranksBySeatsThenLowestTableId() {
+        // Handed over out of order; 4, 4, 6 and 4 seats in a row
+        FloorPlan floorPlan = FloorPlan.of(List.of(
+                table(4, 4, TableLocation.CENTER, TableShape.SQUARE, 300, 0),
+                table(3, 6, TableLocation.CENTER, TableShape.SQUARE, 200, 0),
+                table(2, 4, TableLocation.CENTER, TableShape.SQUARE, 100, 0),
+                table(1, 4, TableLocation.CENTER, TableShape.SQUARE, 0, 0)), MAX_DISTANCE);
+
+        List<List<Long>> ranked = floorPlan.combinationsFor(8, 2, 1000).stream()
+                .map(combination -> floorPlan.toDTO(combination).getTableIds())
+                .toList();
+
+        assertEquals(List.of(List.of(1L, 2L), List.of(2L, 3L), List.of(3L, 4L)), ranked);
+    }
+
+    @Test
+    void searchesAHundredTableFloorWithinAMillisecond() {
+        // 10 x 10 grid of 4-tops; each table touches up to 8 others
+        List<TableDTO> tables = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tables.add(table(i + 1, 4, TableLocation.CENTER, TableShape.SQUARE, (i % 10) * 100.0, (i / 10) * 100.0));
+        }
+        FloorPlan floorPlan = FloorPlan.of(tables, MAX_DISTANCE);
+
+        List<FloorPlan.Combination> combinations = List.of();
+        for (int warmup = 0; warmup < 200; warmup++) {
+            combinations = floorPlan.combinationsFor(16, 4, 200_000);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 20; run++) {
+            long started = System.nanoTime();
+            floorPlan.combinationsFor(16, 4, 200_000);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        assertFalse(combinations.isEmpty());
+        assertEquals(7043, combinations.size());
+        assertTrue(combinations.stream().allMatch(combination -> combination.members().length == 4));
+        assertTrue(best < 1_000_000, "Search took " + best + "ns");
+    }
+
+    private static TableDTO table(int number, int capacity, TableLocation location, TableShape shape,
+                                  double x, double y) {
+        TableDTO table = new TableDTO();
+        table.setId((long) number);
+        table.setTableNumber(number);
+        table.setCapacity(capacity);
+        table.setLocation(location);
+        table.setShape(shape);
+        table.setStatus(TableStatus.AVAILABLE);
+        table.setPositionX(x);
+        table.setPositionY(y);
+        return table;
+    }
+}
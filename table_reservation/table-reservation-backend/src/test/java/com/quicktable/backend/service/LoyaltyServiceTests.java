@@ -0,0 +1,144 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.loyalty.RedeemPointsRequest;
+import com.quicktable.backend.entity.LoyaltyTransactionType;
+import com.quicktable.backend.entity.Role;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ledger rows are written with explicit timestamps, as if they had been committed at that time.
+ * The recompute's fold lag is the default five minutes.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class LoyaltyServiceTests {
+
+    @Autowired
+    private LoyaltyService loyaltyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The fold watermark spans every user's entries; nothing else in the suite writes the ledger
+    @BeforeEach
+    void clearLedger() {
+        jdbcTemplate.update("DELETE FROM loyalty_ledger");
+    }
+
+    @Test
+    void foldsOnlyEntriesBelowTheFirstRecentOne() {
+        User user = user(0, LocalDateTime.now().minusDays(1));
+        long settled = entry(user, LoyaltyTransactionType.EARNED, 100, LocalDateTime.now().minusMinutes(10));
+        entry(user, LoyaltyTransactionType.EARNED, 50, LocalDateTime.now());
+        // A higher id with an old timestamp: written before the recent entry, committed after it
+        entry(user, LoyaltyTransactionType.EARNED, 30, LocalDateTime.now().minusMinutes(10));
+
+        loyaltyService.recomputeBalances();
+
+        User folded = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(100, folded.getLoyaltyPoints());
+        assertEquals(settled, folded.getLoyaltyLedgerOffset());
+
+        // Unfolded entries still count towards what can be redeemed
+        assertThrows(BadRequestException.class, () -> redeem(user, 181));
+        assertEquals(-180, redeem(user, 180));
+    }
+
+    @Test
+    void expiresTheAvailableBalanceOfInactiveUsers() {
+        LocalDateTime longAgo = LocalDateTime.now().minusYears(2);
+        User inactive = user(0, longAgo);
+        entry(inactive, LoyaltyTransactionType.EARNED, 120, longAgo);
+        loyaltyService.recomputeBalances();
+        assertEquals(120, userRepository.findById(inactive.getId()).orElseThrow().getLoyaltyPoints());
+
+        // The snapshot still shows 80 points, but an unfolded redemption has already spent them
+        User spent = user(80, longAgo);
+        entry(spent, LoyaltyTransactionType.REDEEMED, -80, longAgo);
+
+        loyaltyService.expireInactivePoints();
+
+        assertEquals(List.of(-120), points(inactive, LoyaltyTransactionType.EXPIRED));
+        assertEquals(List.of(), points(spent, LoyaltyTransactionType.EXPIRED));
+
+        // The expiry entry is activity of its own, so a second run leaves the user alone
+        loyaltyService.expireInactivePoints();
+        assertEquals(List.of(-120), points(inactive, LoyaltyTransactionType.EXPIRED));
+    }
+
+    @Test
+    void redemptionIsCheckedAgainstTheLiveBalance() {
+        User user = user(40, LocalDateTime.now());
+        entry(user, LoyaltyTransactionType.EARNED, 20, LocalDateTime.now());
+
+        assertEquals(-60, redeem(user, 60));
+        assertThrows(BadRequestException.class, () -> redeem(user, 1));
+        assertEquals(List.of(-60), points(user, LoyaltyTransactionType.REDEEMED));
+    }
+
+    private User user(int snapshotPoints, LocalDateTime lastVisit) {
+        return userRepository.save(User.builder()
+                .firstName("Loyal")
+                .lastName("Guest")
+                .email("loyal-" + UUID.randomUUID() + "@example.com")
+                .phone("555-0199")
+                .password("unused")
+                .role(Role.USER)
+                .loyaltyPoints(snapshotPoints)
+                .loyaltyLedgerOffset(maxLedgerId())
+                .lastVisit(lastVisit)
+                .build());
+    }
+
+    private long entry(User user, LoyaltyTransactionType type, int points, LocalDateTime createdAt) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO loyalty_ledger (user_id, type, points, description, created_at) VALUES (?, ?, ?, ?, ?)",
+                    new String[]{"id"});
+            insert.setLong(1, user.getId());
+            insert.setString(2, type.name());
+            insert.setInt(3, points);
+            insert.setString(4, "test");
+            insert.setTimestamp(5, Timestamp.valueOf(createdAt));
+            return insert;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    private int redeem(User user, int points) {
+        return loyaltyService.redeemPoints(user.getId(), new RedeemPointsRequest(points, null)).getPoints();
+    }
+
+    private List<Integer> points(User user, LoyaltyTransactionType type) {
+        return jdbcTemplate.queryForList("SELECT points FROM loyalty_ledger WHERE user_id = ? AND type = ? ORDER BY id",
+                Integer.class, user.getId(), type.name());
+    }
+
+    private long maxLedgerId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM loyalty_ledger", Long.class);
+        return max != null ? max : 0L;
+    }
+}
@@ -0,0 +1,127 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.reservation.CreateReservationRequest;
+import com.quicktable.backend.dto.reservation.UpdateReservationRequest;
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.repository.NotificationRepository;
+import com.quicktable.backend.repository.ReservationRepository;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Computed reminders (the default mode): nothing is stored at booking time and the sweep works
+ * reminders out from the reservation's date and time.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class NotificationServiceTests {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bookingStoresNoRemindersAndSkipsThoseAlreadyPast() {
+        Long id = book(LocalDateTime.now().plusHours(3), 20);
+
+        assertTrue(notificationRepository.findByReservationId(id).isEmpty());
+        assertTrue(reservation(id).getReminderSent24h());
+        assertFalse(reservation(id).getReminderSent2h());
+
+        // The 2-hour reminder is an hour away
+        notificationService.processPendingNotifications();
+        assertFalse(reservation(id).getReminderSent2h());
+    }
+
+    @Test
+    void sweepSendsRemindersThatHaveComeDue() {
+        // Booked days ago, so no reminder was skipped; the times are now approaching
+        Long tomorrow = book(LocalDateTime.now().plusDays(5), 19);
+        Long soon = book(LocalDateTime.now().plusDays(6), 19);
+        approach(tomorrow, LocalDateTime.now().plusHours(20));
+        approach(soon, LocalDateTime.now().plusMinutes(90));
+
+        notificationService.processPendingNotifications();
+
+        assertTrue(reservation(tomorrow).getReminderSent24h());
+        assertFalse(reservation(tomorrow).getReminderSent2h());
+        // Due for both: only the nearer one goes out, and both are settled
+        assertTrue(reservation(soon).getReminderSent24h());
+        assertTrue(reservation(soon).getReminderSent2h());
+    }
+
+    @Test
+    void reschedulingFollowsTheNewTime() {
+        Long id = book(LocalDateTime.now().plusHours(10), 19);
+        assertTrue(reservation(id).getReminderSent24h());
+
+        move(id, LocalDateTime.now().plusDays(3));
+        assertFalse(reservation(id).getReminderSent24h());
+        assertFalse(reservation(id).getReminderSent2h());
+
+        move(id, LocalDateTime.now().plusHours(5));
+        assertTrue(reservation(id).getReminderSent24h());
+        assertFalse(reservation(id).getReminderSent2h());
+        assertEquals(0, notificationRepository.findByReservationId(id).size());
+    }
+
+    private Long book(LocalDateTime start, int tableNumber) {
+        LocalDateTime minute = start.truncatedTo(ChronoUnit.MINUTES);
+        CreateReservationRequest request = new CreateReservationRequest();
+        request.setCustomerName("Sample Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("555-0103");
+        request.setReservationDate(minute.toLocalDate());
+        request.setReservationTime(minute.toLocalTime());
+        request.setNumberOfGuests(2);
+        request.setTableId(tableRepository.findByTableNumber(tableNumber).orElseThrow().getId());
+        Long customerId = userRepository.findByEmail("customer@example.com").orElseThrow().getId();
+        return reservationService.createReservation(customerId, request).getId();
+    }
+
+    private void move(Long id, LocalDateTime start) {
+        LocalDateTime minute = start.truncatedTo(ChronoUnit.MINUTES);
+        UpdateReservationRequest request = new UpdateReservationRequest();
+        request.setReservationDate(minute.toLocalDate());
+        request.setReservationTime(minute.toLocalTime());
+        reservationService.updateReservation(id, request);
+    }
+
+    // Moves the booking without going through the service, as if time had passed since booking
+    private void approach(Long id, LocalDateTime start) {
+        LocalDateTime minute = start.truncatedTo(ChronoUnit.MINUTES);
+        Reservation reservation = reservation(id);
+        reservation.setReservationDate(minute.toLocalDate());
+        reservation.setReservationTime(minute.toLocalTime());
+        reservationRepository.save(reservation);
+    }
+
+    private Reservation reservation(Long id) {
+        return reservationRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.entity.Notification;
+import com.quicktable.backend.entity.NotificationType;
+import com.quicktable.backend.entity.Reservation;
+import com.quicktable.backend.entity.ReservationStatus;
+import com.quicktable.backend.entity.User;
+import com.quicktable.backend.repository.NotificationRepository;
+import com.quicktable.backend.repository.ReservationRepository;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+class ReservationArchiverTests {
+
+    @Autowired
+    private ReservationArchiver reservationArchiver;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesOnlyFinishedBookingsPastTheCutoff() {
+        LocalDate old = LocalDate.now().minusYears(2);
+        LocalDate cutoff = LocalDate.now().minusYears(1);
+
+        Reservation completed = save(old, 5, ReservationStatus.COMPLETED, 7, 9);
+        Reservation cancelled = save(old.plusDays(1), 1, ReservationStatus.CANCELLED);
+        Reservation stillPending = save(old, 2, ReservationStatus.PENDING);
+        Reservation recent = save(cutoff.plusDays(1), 3, ReservationStatus.COMPLETED);
+        Notification reminder = notificationRepository.save(Notification.builder()
+                .reservation(completed)
+                .user(completed.getUser())
+                .type(NotificationType.REMINDER_24H)
+                .title("Reminder")
+                .build());
+
+        assertEquals(2, reservationArchiver.archiveBefore(cutoff));
+
+        assertFalse(reservationRepository.existsById(completed.getId()));
+        assertFalse(reservationRepository.existsById(cancelled.getId()));
+        assertTrue(reservationRepository.existsById(stillPending.getId()));
+        assertTrue(reservationRepository.existsById(recent.getId()));
+
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+                "SELECT reservation_code, status, joined_table_ids FROM reservations_archive WHERE id = ?",
+                completed.getId());
+        assertEquals(completed.getReservationCode(), archived.get("reservation_code"));
+        assertEquals("COMPLETED", archived.get("status"));
+        assertEquals(tableId(7) + "," + tableId(9), archived.get("joined_table_ids"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_tables WHERE reservation_id = ?", Integer.class, completed.getId()));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT reservation_id FROM notifications WHERE id = ?", Long.class, reminder.getId()));
+
+        // Nothing left to move
+        assertEquals(0, reservationArchiver.archiveBefore(cutoff));
+    }
+
+    private Reservation save(LocalDate date, int tableNumber, ReservationStatus status, Integer... joinedTableNumbers) {
+        User customer = userRepository.findByEmail("customer@example.com").orElseThrow();
+        Reservation reservation = Reservation.builder()
+                .user(customer)
+                .table(tableRepository.findByTableNumber(tableNumber).orElseThrow())
+                .joinedTables(Arrays.stream(joinedTableNumbers)
+                        .map(number -> tableRepository.findByTableNumber(number).orElseThrow())
+                        .collect(Collectors.toCollection(HashSet::new)))
+                .customerName(customer.getFirstName() + " " + customer.getLastName())
+                .customerEmail(customer.getEmail())
+                .customerPhone(customer.getPhone())
+                .reservationDate(date)
+                .reservationTime(LocalTime.of(19, 0))
+                .numberOfGuests(2)
+                .status(status)
+                .build();
+        return reservationRepository.save(reservation);
+    }
+
+    private Long tableId(int tableNumber) {
+        return tableRepository.findByTableNumber(tableNumber).orElseThrow().getId();
+    }
+}
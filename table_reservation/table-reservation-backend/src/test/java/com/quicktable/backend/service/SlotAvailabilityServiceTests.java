@@ -0,0 +1,152 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.reservation.CreateReservationRequest;
+import com.quicktable.backend.dto.table.AvailabilityCalendarDTO;
+import com.quicktable.backend.dto.table.AvailableTablesRequest;
+import com.quicktable.backend.dto.table.OpenTimeDTO;
+import com.quicktable.backend.entity.TableLocation;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeded floor plan: tables 6, 10 and 18 seat six.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class SlotAvailabilityServiceTests {
+
+    @Autowired
+    private SlotAvailabilityService slotAvailabilityService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private TableService tableService;
+
+    @Test
+    void countsOpenTablesPerDayAndSlot() {
+        LocalDate date = LocalDate.now().plusDays(30);
+        book(18, date, LocalTime.of(18, 0), 6);
+
+        AvailabilityCalendarDTO calendar = slotAvailabilityService.getCalendar(date, date.plusDays(1), 6, null);
+
+        List<LocalTime> slots = calendar.getSlots();
+        assertEquals(LocalTime.of(11, 0), slots.get(0));
+        assertEquals(LocalTime.of(21, 0), slots.get(slots.size() - 1));
+
+        List<Integer> open = calendar.getDays().get(0).getOpen();
+        assertEquals(3, open.get(slots.indexOf(LocalTime.of(16, 0))));
+        assertEquals(2, open.get(slots.indexOf(LocalTime.of(16, 30))));
+        assertEquals(2, open.get(slots.indexOf(LocalTime.of(18, 0))));
+        assertEquals(2, open.get(slots.indexOf(LocalTime.of(19, 30))));
+        assertEquals(3, open.get(slots.indexOf(LocalTime.of(20, 0))));
+
+        assertEquals(Collections.nCopies(slots.size(), 3), calendar.getDays().get(1).getOpen());
+    }
+
+    @Test
+    void closesPastDaysAndRejectsBadRanges() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        AvailabilityCalendarDTO calendar = slotAvailabilityService.getCalendar(yesterday, yesterday, 2, null);
+        assertEquals(Collections.nCopies(calendar.getSlots().size(), 0), calendar.getDays().get(0).getOpen());
+
+        LocalDate today = LocalDate.now();
+        assertThrows(BadRequestException.class, () -> slotAvailabilityService.getCalendar(today, today.minusDays(1), 2, null));
+        assertThrows(BadRequestException.class, () -> slotAvailabilityService.getCalendar(today, today.plusDays(62), 2, null));
+    }
+
+    @Test
+    void listsStartTimesWithAFreeTableOrCombination() {
+        LocalDate date = LocalDate.now().plusDays(31);
+        book(6, date, LocalTime.of(13, 0), 6);
+        book(10, date, LocalTime.of(13, 0), 6);
+        book(18, date, LocalTime.of(13, 0), 6);
+        book(18, date, LocalTime.of(19, 0), 6);
+
+        List<OpenTimeDTO> openTimes = slotAvailabilityService.getOpenTimes(date, 6, null);
+        List<LocalTime> times = openTimes.stream().map(OpenTimeDTO::getTime).toList();
+
+        // All three six-tops are taken from 11:30 to 14:30, leaving only smaller tables pushed together
+        assertEquals(LocalTime.of(11, 0), times.get(0));
+        assertEquals(3, openTimes.get(0).getTables());
+        OpenTimeDTO lunch = openTimes.get(times.indexOf(LocalTime.of(13, 0)));
+        assertEquals(0, lunch.getTables());
+        assertTrue(lunch.getCombinations() > 0);
+        assertTrue(lunch.getBestFitCapacity() >= 6);
+        assertEquals(3, openTimes.get(times.indexOf(LocalTime.of(15, 0))).getTables());
+
+        OpenTimeDTO evening = openTimes.get(times.indexOf(LocalTime.of(19, 0)));
+        assertEquals(2, evening.getTables());
+        assertEquals(6, evening.getBestFitCapacity());
+        assertEquals(Map.of(TableLocation.CENTER, 2), evening.getByLocation());
+
+        OpenTimeDTO late = openTimes.get(times.indexOf(LocalTime.of(21, 0)));
+        assertEquals(Map.of(TableLocation.CENTER, 2, TableLocation.PATIO, 1), late.getByLocation());
+    }
+
+    @Test
+    void countsFreeCombinationsForPartiesNoTableSeats() {
+        LocalDate date = LocalDate.now().plusDays(32);
+        LocalTime time = LocalTime.of(18, 0);
+        CreateReservationRequest request = request(date, time, 12);
+        reservationService.createReservation(customerId(), request);
+
+        AvailabilityCalendarDTO calendar = slotAvailabilityService.getCalendar(date, date, 12, null);
+        List<OpenTimeDTO> openTimes = slotAvailabilityService.getOpenTimes(date, 12, null);
+        for (LocalTime slot : List.of(LocalTime.of(11, 0), LocalTime.of(17, 0), time, LocalTime.of(20, 0))) {
+            // Same answer as listing the combinations for that start time
+            int combinations = tableService.getAvailableCombinations(new AvailableTablesRequest(date, slot, 12), null).size();
+            assertTrue(combinations > 0);
+            assertEquals(combinations, calendar.getDays().get(0).getOpen().get(calendar.getSlots().indexOf(slot)));
+
+            OpenTimeDTO open = openTimes.stream().filter(openTime -> openTime.getTime().equals(slot)).findFirst().orElseThrow();
+            assertEquals(0, open.getTables());
+            assertEquals(combinations, open.getCombinations());
+        }
+        assertTrue(calendar.getDays().get(0).getOpen().get(calendar.getSlots().indexOf(time))
+                < calendar.getDays().get(0).getOpen().get(0));
+    }
+
+    private void book(int tableNumber, LocalDate date, LocalTime time, int guests) {
+        CreateReservationRequest request = request(date, time, guests);
+        request.setTableId(tableRepository.findByTableNumber(tableNumber).orElseThrow().getId());
+        reservationService.createReservation(customerId(), request);
+    }
+
+    private CreateReservationRequest request(LocalDate date, LocalTime time, int guests) {
+        CreateReservationRequest request = new CreateReservationRequest();
+        request.setCustomerName("Sample Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("555-0103");
+        request.setReservationDate(date);
+        request.setReservationTime(time);
+        request.setNumberOfGuests(guests);
+        return request;
+    }
+
+    private Long customerId() {
+        return userRepository.findByEmail("customer@example.com").orElseThrow().getId();
+    }
+}
@@ -0,0 +1,148 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.common.ApiResponse;
+import com.quicktable.backend.dto.reservation.SlotHoldDTO;
+import com.quicktable.backend.dto.reservation.SlotHoldRequest;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.TableStatus;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.metrics.QuickTableMetrics;
+import com.quicktable.backend.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotHoldServiceTests {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(3);
+    private static final LocalTime SEVEN_PM = LocalTime.of(19, 0);
+
+    private final TableCatalog tableCatalog = mock(TableCatalog.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        List<TableDTO> tables = List.of(
+                TableDTO.builder().id(1L).capacity(4).status(TableStatus.AVAILABLE).build(),
+                TableDTO.builder().id(2L).capacity(2).status(TableStatus.AVAILABLE).build());
+        when(tableCatalog.current()).thenReturn(
+                new TableCatalog.Snapshot(ApiResponse.success(tables), "\"etag\"", "hash", 0, 0));
+        when(reservationRepository.isTableBooked(any(), any(), any())).thenReturn(false);
+    }
+
+    @Test
+    void heldSlotIsHiddenFromOthersAndRefusedAtBooking() {
+        SlotHoldService holds = service(60_000);
+        holds.placeHold(10L, request(1L, SEVEN_PM));
+
+        LocalTime from = SEVEN_PM.minusHours(1);
+        assertEquals(Set.of(1L), holds.heldTableIds(DATE, from, from.plusHours(2), 11L));
+        assertEquals(Set.of(), holds.heldTableIds(DATE, from, from.plusHours(2), 10L));
+        assertEquals(Set.of(), holds.heldTableIds(DATE.plusDays(1), from, from.plusHours(2), 11L));
+
+        assertThrows(BadRequestException.class, () -> holds.checkForBooking(11L, 1L, DATE, SEVEN_PM));
+        assertThrows(BadRequestException.class, () -> holds.placeHold(11L, request(1L, SEVEN_PM)));
+        assertDoesNotThrow(() -> holds.checkForBooking(11L, 2L, DATE, SEVEN_PM));
+    }
+
+    @Test
+    void holdersBookingConvertsTheHold() {
+        SlotHoldService holds = service(60_000);
+        holds.placeHold(10L, request(1L, SEVEN_PM));
+
+        // Outside a transaction the conversion runs straight away
+        holds.checkForBooking(10L, 1L, DATE, SEVEN_PM);
+
+        assertEquals(0, holds.activeHolds());
+        assertDoesNotThrow(() -> holds.checkForBooking(11L, 1L, DATE, SEVEN_PM));
+    }
+
+    @Test
+    void expiredHoldsFreeTheSlotAndAreSwept() throws InterruptedException {
+        SlotHoldService holds = service(50);
+        holds.placeHold(10L, request(1L, SEVEN_PM));
+        holds.placeHold(10L, request(2L, SEVEN_PM));
+
+        Thread.sleep(80);
+
+        assertEquals(Set.of(), holds.heldTableIds(DATE, SEVEN_PM, SEVEN_PM.plusHours(2), 11L));
+        assertDoesNotThrow(() -> holds.checkForBooking(11L, 1L, DATE, SEVEN_PM));
+        holds.removeExpired();
+        assertEquals(0, holds.activeHolds());
+    }
+
+    @Test
+    void renewingKeepsOneHoldAndTheCapPerUserApplies() {
+        SlotHoldService holds = service(60_000);
+        SlotHoldDTO first = holds.placeHold(10L, request(1L, SEVEN_PM));
+        SlotHoldDTO renewed = holds.placeHold(10L, request(1L, SEVEN_PM));
+        holds.placeHold(10L, request(2L, SEVEN_PM));
+
+        assertEquals(2, holds.activeHolds());
+        assertTrue(!renewed.getExpiresAt().isBefore(first.getExpiresAt()));
+        assertThrows(BadRequestException.class, () -> holds.placeHold(10L, request(1L, SEVEN_PM.plusHours(2))));
+
+        holds.releaseHold(10L, renewed.getHoldId());
+        assertDoesNotThrow(() -> holds.placeHold(10L, request(1L, SEVEN_PM.plusHours(2))));
+    }
+
+    @Test
+    void onlyOneOfManyConcurrentCustomersGetsThePeakSlot() throws Exception {
+        SlotHoldService holds = service(60_000);
+        int customers = 40;
+        ExecutorService pool = Executors.newFixedThreadPool(customers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            for (long user = 1; user <= customers; user++) {
+                long userId = user;
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        holds.placeHold(userId, request(1L, SEVEN_PM));
+                        return true;
+                    } catch (BadRequestException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int won = 0;
+            for (Future<Boolean> attempt : attempts) {
+                won += attempt.get() ? 1 : 0;
+            }
+            assertEquals(1, won);
+            assertEquals(1, holds.activeHolds());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SlotHoldService service(long ttlMillis) {
+        return new SlotHoldService(tableCatalog, reservationRepository,
+                new QuickTableMetrics(new SimpleMeterRegistry()), ttlMillis, 2, 10_000);
+    }
+
+    private static SlotHoldRequest request(Long tableId, LocalTime time) {
+        return new SlotHoldRequest(tableId, DATE, time);
+    }
+}
@@ -0,0 +1,181 @@
+package com.quicktable.backend.service;
+
+import com.quicktable.backend.dto.reservation.CreateReservationRequest;
+import com.quicktable.backend.dto.reservation.ReservationDTO;
+import com.quicktable.backend.dto.table.AvailableTablesRequest;
+import com.quicktable.backend.dto.table.TableDTO;
+import com.quicktable.backend.entity.TableLocation;
+import com.quicktable.backend.exception.BadRequestException;
+import com.quicktable.backend.repository.RestaurantTableRepository;
+import com.quicktable.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the seeded floor plan from {@code DataInitializer} (20 tables, 2 to 6 seats).
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class TableAllocatorTests {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private TableService tableService;
+
+    @Test
+    void picksTheSmallestTableThatSeatsTheParty() {
+        LocalDate date = LocalDate.now().plusDays(20);
+
+        assertEquals(1, book(date, LocalTime.of(12, 0), 2, null).getTableNumber());
+        assertEquals(3, book(date, LocalTime.of(12, 0), 3, null).getTableNumber());
+        assertEquals(6, book(date, LocalTime.of(12, 0), 5, null).getTableNumber());
+        // Table 1 is taken until 14:00, table 2 is the next best fit
+        assertEquals(2, book(date, LocalTime.of(13, 30), 2, null).getTableNumber());
+        assertEquals(1, book(date, LocalTime.of(14, 0), 2, null).getTableNumber());
+    }
+
+    @Test
+    void prefersTheRequestedLocationAndFallsBackToOthers() {
+        LocalDate date = LocalDate.now().plusDays(21);
+
+        assertEquals(16, book(date, LocalTime.of(19, 0), 2, TableLocation.PATIO).getTableNumber());
+        assertEquals(17, book(date, LocalTime.of(19, 0), 4, TableLocation.PATIO).getTableNumber());
+        assertEquals(18, book(date, LocalTime.of(19, 0), 4, TableLocation.PATIO).getTableNumber());
+        assertEquals(1, book(date, LocalTime.of(19, 0), 2, TableLocation.PATIO).getTableNumber());
+    }
+
+    @Test
+    void concurrentBookingsSpreadAcrossTablesUntilTheRoomIsFull() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(22);
+        LocalTime time = LocalTime.of(20, 0);
+        int tables = (int) tableRepository.count();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReservationDTO>> bookings = new ArrayList<>();
+        try {
+            for (int i = 0; i < tables; i++) {
+                bookings.add(pool.submit(() -> {
+                    start.await();
+                    return book(date, time, 2, null);
+                }));
+            }
+            start.countDown();
+
+            Set<Long> assigned = new HashSet<>();
+            for (Future<ReservationDTO> booking : bookings) {
+                assigned.add(booking.get().getTableId());
+            }
+            assertEquals(tables, assigned.size());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThrows(BadRequestException.class, () -> book(date, time, 2, null));
+    }
+
+    @Test
+    void seatsLargePartiesAtAdjacentTables() {
+        LocalDate date = LocalDate.now().plusDays(23);
+        LocalTime time = LocalTime.of(18, 0);
+
+        // Centre squares 5 and 7 both touch rectangle 9: three tables beat any four
+        ReservationDTO first = book(date, time, 12, null);
+        assertEquals(5, first.getTableNumber());
+        assertEquals(List.of(7, 9), first.getJoinedTableNumbers());
+
+        // The centre is now taken, so the next party gets the window run 1-4
+        ReservationDTO second = book(date, time, 12, null);
+        assertEquals(1, second.getTableNumber());
+        assertEquals(List.of(2, 3, 4), second.getJoinedTableNumbers());
+
+        // A joined table is booked along with the reservation it belongs to
+        CreateReservationRequest single = request(date, time, 2, null);
+        single.setTableId(tableRepository.findByTableNumber(9).orElseThrow().getId());
+        assertThrows(BadRequestException.class, () -> reservationService.createReservation(customerId(), single));
+    }
+
+    @Test
+    void allocatedAndExplicitBookingsFollowTheSameOverlapRule() {
+        LocalDate date = LocalDate.now().plusDays(25);
+        Long tableOne = tableRepository.findByTableNumber(1).orElseThrow().getId();
+        assertEquals(1, book(date, LocalTime.of(12, 0), 2, null).getTableNumber());
+
+        // Any start within two hours of the allocated booking is a double booking of table 1
+        for (LocalTime time : List.of(LocalTime.of(10, 30), LocalTime.of(12, 0), LocalTime.of(13, 59))) {
+            assertThrows(BadRequestException.class, () -> bookTable(date, time, tableOne));
+            assertTrue(availableTableNumbers(date, time).stream().noneMatch(number -> number == 1));
+        }
+        assertEquals(1, bookTable(date, LocalTime.of(14, 0), tableOne).getTableNumber());
+
+        // And the allocator steers clear of the explicit booking
+        assertEquals(2, book(date, LocalTime.of(15, 30), 2, null).getTableNumber());
+        assertTrue(availableTableNumbers(date, LocalTime.of(10, 0)).contains(1));
+    }
+
+    @Test
+    void rejectsTablesThatAreNotNextToEachOther() {
+        CreateReservationRequest request = request(LocalDate.now().plusDays(24), LocalTime.of(18, 0), 6, null);
+        request.setTableId(tableRepository.findByTableNumber(1).orElseThrow().getId());
+        request.setJoinedTableIds(List.of(tableRepository.findByTableNumber(12).orElseThrow().getId()));
+
+        assertThrows(BadRequestException.class, () -> reservationService.createReservation(customerId(), request));
+    }
+
+    private ReservationDTO book(LocalDate date, LocalTime time, int guests, TableLocation location) {
+        return reservationService.createReservation(customerId(), request(date, time, guests, location));
+    }
+
+    private ReservationDTO bookTable(LocalDate date, LocalTime time, Long tableId) {
+        CreateReservationRequest request = request(date, time, 2, null);
+        request.setTableId(tableId);
+        return reservationService.createReservation(customerId(), request);
+    }
+
+    private List<Integer> availableTableNumbers(LocalDate date, LocalTime time) {
+        return tableService.getAvailableTables(new AvailableTablesRequest(date, time, 2)).stream()
+                .map(TableDTO::getTableNumber)
+                .toList();
+    }
+
+    private CreateReservationRequest request(LocalDate date, LocalTime time, int guests, TableLocation location) {
+        CreateReservationRequest request = new CreateReservationRequest();
+        request.setCustomerName("Sample Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("555-0103");
+        request.setReservationDate(date);
+        request.setReservationTime(time);
+        request.setNumberOfGuests(guests);
+        request.setPreferredLocation(location);
+        return request;
+    }
+
+    private Long customerId() {
+        return userRepository.findByEmail("customer@example.com").orElseThrow().getId();
+    }
+}